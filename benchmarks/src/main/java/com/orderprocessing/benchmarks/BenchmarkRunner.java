@@ -0,0 +1,29 @@
+package com.orderprocessing.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar: the regular JMH command line, always with the gc profiler,
+ * so every result carries gc.alloc.rate.norm (bytes allocated per operation).
+ *
+ * java -jar target/benchmarks.jar [JMH options] [benchmark regexp]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        try {
+            new Runner(new OptionsBuilder()
+                    .parent(new CommandLineOptions(args))
+                    .addProfiler(GCProfiler.class)
+                    .build())
+                    .run();
+        } catch (RunnerException e) {
+            System.err.println("❌ Benchmark run failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.orderprocessing.benchmarks;
+
+import com.orderprocessing.common.config.PublishProperties;
+import com.orderprocessing.common.publish.PublishPipeline;
+import com.orderprocessing.paymentservice.events.EventPublisher;
+import com.orderprocessing.paymentservice.events.PaymentSuccessEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of EventPublisher.publishPaymentSuccess: PublishPipeline, KafkaTemplate, record creation
+ * and serialization, with an auto-completing MockProducer in place of the network. The mock acknowledges
+ * inside send(), so the publisher's wait for the broker returns at once.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventPublisherBenchmark {
+
+    // MockProducer keeps every record it was sent - cleared every HISTORY_LIMIT sends
+    private static final int HISTORY_LIMIT = 10_000;
+
+    private MockProducer<String, Object> producer;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private EventPublisher eventPublisher;
+    private PaymentSuccessEvent event;
+    private int sent;
+
+    @Setup
+    public void setUp() {
+        producer = new MockProducer<>(true, new StringSerializer(), new JsonSerializer<>());
+        // Real factory (shared CloseSafeProducer as in the services), raw producer swapped for the mock
+        ProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(Map.of()) {
+            @Override
+            protected Producer<String, Object> createRawProducer(Map<String, Object> configs) {
+                return producer;
+            }
+        };
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        eventPublisher = new EventPublisher(
+                new PublishPipeline(kafkaTemplate, new PublishProperties(), new SimpleMeterRegistry()));
+        event = new PaymentSuccessEvent("corr-" + UUID.randomUUID(), 1042L, 100.0, LocalDateTime.now().toString(), System.currentTimeMillis(), null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        kafkaTemplate.destroy();
+    }
+
+    @Benchmark
+    public void publishPaymentSuccess() {
+        eventPublisher.publishPaymentSuccess(event);
+        if (++sent == HISTORY_LIMIT) {
+            producer.clear();
+            sent = 0;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.orderprocessing.benchmarks;
+
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event round-trips with the serializer/deserializer settings from each service's application.properties:
+ * the producing service serializes its own event class, the consuming service deserializes into its copy.
+ * JSON (JsonSerializer/JsonDeserializer) and the binary codec side by side.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventSerializationBenchmark {
+
+    private JsonSerializer<Object> orderServiceSerializer;
+    private JsonSerializer<Object> inventoryServiceSerializer;
+    private JsonSerializer<Object> paymentServiceSerializer;
+
+    private Deserializer<Object> orderCreatedDeserializer;
+    private Deserializer<Object> inventoryReservedDeserializer;
+    private Deserializer<Object> paymentSuccessDeserializer;
+
+    private com.orderprocessing.orderservice.events.OrderCreatedEvent orderCreated;
+    private com.orderprocessing.inventoryservice.events.InventoryReservedEvent inventoryReserved;
+    private com.orderprocessing.paymentservice.events.PaymentSuccessEvent paymentSuccess;
+
+    private byte[] orderCreatedJson;
+    private byte[] inventoryReservedJson;
+    private byte[] paymentSuccessJson;
+
+    private final Serializer<Object> orderServiceBinarySerializer = new com.orderprocessing.orderservice.codec.BinaryEventSerializer();
+    private final Serializer<Object> inventoryServiceBinarySerializer = new com.orderprocessing.inventoryservice.codec.BinaryEventSerializer();
+    private final Serializer<Object> paymentServiceBinarySerializer = new com.orderprocessing.paymentservice.codec.BinaryEventSerializer();
+    private final Deserializer<Object> inventoryServiceBinaryDeserializer = new com.orderprocessing.inventoryservice.codec.BinaryEventDeserializer();
+    private final Deserializer<Object> paymentServiceBinaryDeserializer = new com.orderprocessing.paymentservice.codec.BinaryEventDeserializer();
+    private final Deserializer<Object> orderServiceBinaryDeserializer = new com.orderprocessing.orderservice.codec.BinaryEventDeserializer();
+
+    private byte[] orderCreatedBinary;
+    private byte[] inventoryReservedBinary;
+    private byte[] paymentSuccessBinary;
+
+    @Setup
+    public void setUp() {
+        // order-service: spring.json.add.type.headers=false + type mapping
+        orderServiceSerializer = new JsonSerializer<>();
+        orderServiceSerializer.configure(Map.of(
+                JsonSerializer.ADD_TYPE_INFO_HEADERS, false,
+                JsonSerializer.TYPE_MAPPINGS,
+                "OrderCreatedEvent:com.orderprocessing.orderservice.events.OrderCreatedEvent"), false);
+        // inventory-service / payment-service: JsonSerializer defaults
+        inventoryServiceSerializer = new JsonSerializer<>();
+        paymentServiceSerializer = new JsonSerializer<>();
+
+        orderCreatedDeserializer = consumerDeserializer(com.orderprocessing.inventoryservice.events.OrderCreatedEvent.class);
+        inventoryReservedDeserializer = consumerDeserializer(com.orderprocessing.paymentservice.events.InventoryReservedEvent.class);
+        paymentSuccessDeserializer = consumerDeserializer(com.orderprocessing.orderservice.events.PaymentSuccessEvent.class);
+
+        String correlationId = "corr-" + UUID.randomUUID();
+        String timestamp = LocalDateTime.now().toString();
+        long origin = System.currentTimeMillis();
+        orderCreated = new com.orderprocessing.orderservice.events.OrderCreatedEvent(
+                correlationId, UUID.randomUUID().toString(), 1042L, "John Doe", 99.99, timestamp, origin, origin);
+        inventoryReserved = new com.orderprocessing.inventoryservice.events.InventoryReservedEvent(
+                correlationId, UUID.randomUUID().toString(), 1042L, true, timestamp, origin, origin);
+        paymentSuccess = new com.orderprocessing.paymentservice.events.PaymentSuccessEvent(
+                correlationId, 1042L, 100.0, timestamp, origin, origin);
+
+        orderCreatedJson = orderServiceSerializer.serialize("order-created", orderCreated);
+        inventoryReservedJson = inventoryServiceSerializer.serialize("inventory-reserved", inventoryReserved);
+        paymentSuccessJson = paymentServiceSerializer.serialize("payment-success", paymentSuccess);
+
+        orderCreatedBinary = orderServiceBinarySerializer.serialize("order-created", orderCreated);
+        inventoryReservedBinary = inventoryServiceBinarySerializer.serialize("inventory-reserved", inventoryReserved);
+        paymentSuccessBinary = paymentServiceBinarySerializer.serialize("payment-success", paymentSuccess);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderCreated() {
+        return orderServiceSerializer.serialize("order-created", new RecordHeaders(), orderCreated);
+    }
+
+    @Benchmark
+    public Object deserializeOrderCreated() {
+        return orderCreatedDeserializer.deserialize("order-created", new RecordHeaders(), orderCreatedJson);
+    }
+
+    @Benchmark
+    public byte[] serializeInventoryReserved() {
+        return inventoryServiceSerializer.serialize("inventory-reserved", new RecordHeaders(), inventoryReserved);
+    }
+
+    @Benchmark
+    public Object deserializeInventoryReserved() {
+        return inventoryReservedDeserializer.deserialize("inventory-reserved", new RecordHeaders(), inventoryReservedJson);
+    }
+
+    @Benchmark
+    public byte[] serializePaymentSuccess() {
+        return paymentServiceSerializer.serialize("payment-success", new RecordHeaders(), paymentSuccess);
+    }
+
+    @Benchmark
+    public Object deserializePaymentSuccess() {
+        return paymentSuccessDeserializer.deserialize("payment-success", new RecordHeaders(), paymentSuccessJson);
+    }
+
+    @Benchmark
+    public byte[] binarySerializeOrderCreated() {
+        return orderServiceBinarySerializer.serialize("order-created", new RecordHeaders(), orderCreated);
+    }
+
+    @Benchmark
+    public Object binaryDeserializeOrderCreated() {
+        return inventoryServiceBinaryDeserializer.deserialize("order-created", new RecordHeaders(), orderCreatedBinary);
+    }
+
+    @Benchmark
+    public byte[] binarySerializeInventoryReserved() {
+        return inventoryServiceBinarySerializer.serialize("inventory-reserved", new RecordHeaders(), inventoryReserved);
+    }
+
+    @Benchmark
+    public Object binaryDeserializeInventoryReserved() {
+        return paymentServiceBinaryDeserializer.deserialize("inventory-reserved", new RecordHeaders(), inventoryReservedBinary);
+    }
+
+    @Benchmark
+    public byte[] binarySerializePaymentSuccess() {
+        return paymentServiceBinarySerializer.serialize("payment-success", new RecordHeaders(), paymentSuccess);
+    }
+
+    @Benchmark
+    public Object binaryDeserializePaymentSuccess() {
+        return orderServiceBinaryDeserializer.deserialize("payment-success", new RecordHeaders(), paymentSuccessBinary);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (AutoCloseable closeable : List.<AutoCloseable>of(orderServiceSerializer, inventoryServiceSerializer,
+                paymentServiceSerializer, orderCreatedDeserializer, inventoryReservedDeserializer,
+                paymentSuccessDeserializer)) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // Nothing to release
+            }
+        }
+    }
+
+    // Consumer side as configured by the services: ErrorHandlingDeserializer → JsonDeserializer,
+    // type headers ignored, target type from the listener's spring.json.value.default.type
+    private static Deserializer<Object> consumerDeserializer(Class<?> valueType) {
+        ErrorHandlingDeserializer<Object> deserializer = new ErrorHandlingDeserializer<>();
+        deserializer.configure(Map.of(
+                ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class,
+                JsonDeserializer.TRUSTED_PACKAGES, "*",
+                JsonDeserializer.USE_TYPE_INFO_HEADERS, false,
+                JsonDeserializer.VALUE_DEFAULT_TYPE, valueType.getName()), false);
+        return deserializer;
+    }
+}
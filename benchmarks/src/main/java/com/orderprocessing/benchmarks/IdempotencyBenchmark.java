@@ -0,0 +1,94 @@
+package com.orderprocessing.benchmarks;
+
+import com.orderprocessing.paymentservice.entity.ProcessedEvent;
+import com.orderprocessing.paymentservice.repository.ProcessedEventRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The consumer idempotency check-and-save (existsById, then save) as payment-service runs it per event,
+ * against an in-memory H2 database through the real JPA stack.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdempotencyBenchmark {
+
+    @Configuration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = ProcessedEvent.class)
+    @EnableJpaRepositories(basePackageClasses = ProcessedEventRepository.class)
+    static class PersistenceConfig {
+    }
+
+    private ConfigurableApplicationContext context;
+    private ProcessedEventRepository processedEventRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private String duplicateEventId;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(PersistenceConfig.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setDefaultProperties(Map.of(
+                "spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto", "create-drop",
+                "spring.jpa.open-in-view", "false",
+                "spring.main.banner-mode", "off"));
+        context = application.run();
+        processedEventRepository = context.getBean(ProcessedEventRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        duplicateEventId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> processedEventRepository.save(processedEvent(duplicateEventId)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    // First delivery: miss, then insert
+    @Benchmark
+    public Boolean newEvent() {
+        String eventId = UUID.randomUUID().toString();
+        return transactionTemplate.execute(status -> checkAndSave(eventId));
+    }
+
+    // Redelivery: hit, nothing written
+    @Benchmark
+    public Boolean duplicateEvent() {
+        return transactionTemplate.execute(status -> checkAndSave(duplicateEventId));
+    }
+
+    private boolean checkAndSave(String eventId) {
+        if (processedEventRepository.existsById(eventId)) {
+            return false;
+        }
+        processedEventRepository.save(processedEvent(eventId));
+        return true;
+    }
+
+    private ProcessedEvent processedEvent(String eventId) {
+        return new ProcessedEvent(eventId, orderIds.incrementAndGet(), "InventoryReservedEvent",
+                LocalDateTime.now(), "payment-service");
+    }
+}
@@ -0,0 +1,48 @@
+package com.orderprocessing.benchmarks;
+
+import com.orderprocessing.notificationservice.template.CompiledTemplate;
+import com.orderprocessing.notificationservice.template.TemplateContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering a compiled notification template against building the same text by string concatenation,
+ * as the channels did before templates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NotificationTemplateBenchmark {
+
+    private CompiledTemplate smsTemplate;
+    private CompiledTemplate emailTemplate;
+    private TemplateContext context;
+
+    @Setup
+    public void setUp() {
+        smsTemplate = CompiledTemplate.compile("sms/order-confirmed.txt",
+                "Your order #{{orderId}} has been successfully processed!", false);
+        emailTemplate = CompiledTemplate.compile("email/order-failed.html",
+                "<p>Order #{{orderId}} failed. Reason: {{reason}}</p>", true);
+        context = new TemplateContext("corr-1042", 1042L, "Jane Doe", 100.0, "Insufficient funds");
+    }
+
+    @Benchmark
+    public String concatenation() {
+        return "Your order #" + context.orderId() + " has been successfully processed!";
+    }
+
+    @Benchmark
+    public String renderText() {
+        return smsTemplate.render(context);
+    }
+
+    @Benchmark
+    public String renderHtmlEscaped() {
+        return emailTemplate.render(context);
+    }
+}
@@ -0,0 +1,47 @@
+package com.orderprocessing.benchmarks;
+
+import com.orderprocessing.orderservice.model.OrderState;
+import com.orderprocessing.orderservice.service.OrderStateMachine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderStateMachine.transition for every transition the saga takes, plus the rejected path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderStateMachineBenchmark {
+
+    @Param({"PENDING:PROCESSING", "PROCESSING:CONFIRMED", "PROCESSING:FAILED"})
+    public String transition;
+
+    private final OrderStateMachine stateMachine = new OrderStateMachine();
+    private OrderState from;
+    private OrderState to;
+
+    @Setup
+    public void setUp() {
+        String[] states = transition.split(":");
+        from = OrderState.valueOf(states[0]);
+        to = OrderState.valueOf(states[1]);
+    }
+
+    @Benchmark
+    public OrderState validTransition() {
+        return stateMachine.transition(from, to);
+    }
+
+    @Benchmark
+    public Object invalidTransition() {
+        try {
+            return stateMachine.transition(to, from);
+        } catch (IllegalStateException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.orderprocessing.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.paymentservice.events.PaymentSuccessEvent;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One publish log line: the former INFO line with the correlation ID and the whole event formatted in,
+ * and the SagaLogger line when written, sampled out and over the WARN rate limit.
+ * Written lines are fully encoded into a discarding stream.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SagaLoggerBenchmark {
+
+    private static final Logger plainLog = LoggerFactory.getLogger("benchmarks.plain");
+    private static final SagaLogger sagaLog = SagaLogger.of(SagaLoggerBenchmark.class);
+
+    private PaymentSuccessEvent event;
+    private String key;
+    private SagaLogger.Scope scope;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{HH:mm:ss.SSS} %5p [%X{correlationId:-}] %logger{36} - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        for (String name : List.of("benchmarks.plain", SagaLoggerBenchmark.class.getName())) {
+            ch.qos.logback.classic.Logger logger = context.getLogger(name);
+            logger.setLevel(Level.INFO);
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+        }
+
+        SagaLogger.setSampleRate(LogCategory.RECEIVE, 1.0);
+        SagaLogger.setSampleRate(LogCategory.PUBLISH, 0.0);
+        SagaLogger.setWarnPerSecond(LogCategory.PROCESS, 10);
+
+        event = new PaymentSuccessEvent("corr-" + UUID.randomUUID(), 1042L, 100.0, LocalDateTime.now().toString(), System.currentTimeMillis(), null);
+        key = event.getOrderId().toString();
+        scope = SagaLogger.correlate(event.getCorrelationId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        scope.close();
+    }
+
+    @Benchmark
+    public void formattedLine() {
+        plainLog.info("[{}] 💳 Publishing PaymentSuccessEvent with key {}: {}", event.getCorrelationId(), key, event);
+    }
+
+    @Benchmark
+    public void sagaLine() {
+        sagaLog.info(LogCategory.RECEIVE, "💳 Publishing PaymentSuccessEvent with key {}", key);
+    }
+
+    @Benchmark
+    public void sagaLineSampledOut() {
+        sagaLog.info(LogCategory.PUBLISH, "💳 Publishing PaymentSuccessEvent with key {}", key);
+    }
+
+    @Benchmark
+    public void sagaWarnRateLimited() {
+        sagaLog.warn(LogCategory.PROCESS, "🔁 Publish with key {} failed, retrying", key);
+    }
+}
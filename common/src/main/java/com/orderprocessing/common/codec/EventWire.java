@@ -0,0 +1,364 @@
+package com.orderprocessing.common.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Compact binary layout of the saga events, shared by every service. Each service encodes and decodes its own
+ * event classes (codec.BinaryEventSerializer / BinaryEventDeserializer) with the Writer and Reader here.
+ *
+ * Record: MAGIC, schema VERSION, type id, then the fields of that type in a fixed order:
+ *   1 OrderCreated      correlationId, eventId, orderId, customerName, totalAmount, timestamp, items
+ *   2 InventoryReserved correlationId, eventId, orderId, reserved, timestamp
+ *   3 PaymentSuccess    correlationId, orderId, amount, timestamp
+ *   4 PaymentFailed     correlationId, eventId, orderId, reason, timestamp
+ * Version 2 appends originTimestamp, publishedAt (epoch millis) to every type; version 1 records still decode.
+ *
+ * Longs are varints (0 = null), amounts are minor units (cents), UUIDs and "corr-" ids are two longs,
+ * ISO local timestamps are epoch millis (UTC). JSON always starts with '{', so MAGIC tells the formats apart.
+ */
+public final class EventWire {
+
+    public static final byte MAGIC = (byte) 0xCE;
+    public static final byte VERSION = 2;
+    private static final byte MIN_VERSION = 1;
+
+    public static final byte ORDER_CREATED = 1;
+    public static final byte INVENTORY_RESERVED = 2;
+    public static final byte PAYMENT_SUCCESS = 3;
+    public static final byte PAYMENT_FAILED = 4;
+
+    // String encodings
+    private static final byte NULL = 0;
+    private static final byte UUID_TEXT = 1;
+    private static final byte CORRELATION_ID = 2;
+    private static final byte EPOCH_MILLIS = 3;
+    private static final byte TEXT = 4;
+
+    private static final String CORRELATION_PREFIX = "corr-";
+    private static final long NOT_A_TIMESTAMP = Long.MIN_VALUE;
+
+    private EventWire() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data.length >= 3 && data[0] == MAGIC;
+    }
+
+    public static final class Writer {
+
+        private static final int INITIAL_CAPACITY = 256;
+        private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+        private byte[] buf = new byte[INITIAL_CAPACITY];
+        private int pos;
+
+        public Writer begin(byte type) {
+            if (buf.length > MAX_RETAINED_CAPACITY) {
+                buf = new byte[INITIAL_CAPACITY];  // Don't pin one oversized record's buffer forever
+            }
+            pos = 0;
+            writeByte(MAGIC);
+            writeByte(VERSION);
+            writeByte(type);
+            return this;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+
+        public void writeByte(int b) {
+            ensure(1);
+            buf[pos++] = (byte) b;
+        }
+
+        public void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        public void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        public void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        public void writeNullableLong(Long value) {
+            writeVarLong(value == null ? 0 : zigZag(value) + 1);
+        }
+
+        public void writeAmount(Double amount) {
+            if (amount != null && !Double.isFinite(amount)) {
+                throw new SerializationException("Amount is not a finite number: " + amount);
+            }
+            writeNullableLong(amount == null ? null : Math.round(amount * 100));
+        }
+
+        public void writeString(String value) {
+            if (value == null) {
+                writeByte(NULL);
+            } else if (value.startsWith(CORRELATION_PREFIX)
+                    && isCanonicalUuid(value, CORRELATION_PREFIX.length())) {
+                writeByte(CORRELATION_ID);
+                writeUuid(value, CORRELATION_PREFIX.length());
+            } else if (isCanonicalUuid(value, 0)) {
+                writeByte(UUID_TEXT);
+                writeUuid(value, 0);
+            } else {
+                writeText(value);
+            }
+        }
+
+        public void writeTimestamp(String value) {
+            long epochMillis = parseEpochMillis(value);
+            if (epochMillis == NOT_A_TIMESTAMP) {
+                writeString(value);
+                return;
+            }
+            writeByte(EPOCH_MILLIS);
+            writeVarLong(zigZag(epochMillis));
+        }
+
+        private void writeText(String value) {
+            writeByte(TEXT);
+            int length = value.length();
+            boolean ascii = true;
+            for (int i = 0; i < length && ascii; i++) {
+                ascii = value.charAt(i) < 0x80;
+            }
+            if (ascii) {
+                // Common case - no intermediate byte[]
+                writeVarLong(length);
+                ensure(length);
+                for (int i = 0; i < length; i++) {
+                    buf[pos++] = (byte) value.charAt(i);
+                }
+            } else {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                writeVarLong(utf8.length);
+                ensure(utf8.length);
+                System.arraycopy(utf8, 0, buf, pos, utf8.length);
+                pos += utf8.length;
+            }
+        }
+
+        private void writeUuid(String value, int offset) {
+            writeLong(hexLong(value, offset, offset + 8) << 32
+                    | hexLong(value, offset + 9, offset + 13) << 16
+                    | hexLong(value, offset + 14, offset + 18));
+            writeLong(hexLong(value, offset + 19, offset + 23) << 48
+                    | hexLong(value, offset + 24, offset + 36));
+        }
+
+        private void ensure(int bytes) {
+            if (pos + bytes > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + bytes));
+            }
+        }
+    }
+
+    public static final class Reader {
+
+        private final byte[] data;
+        private int pos;
+        private byte version;
+
+        public Reader(byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Validates the header and returns the type id.
+         */
+        public byte readHeader() {
+            if (!isBinary(data)) {
+                throw new SerializationException("Not a binary event record");
+            }
+            if (data[1] < MIN_VERSION || data[1] > VERSION) {
+                throw new SerializationException("Unsupported event schema version: " + data[1]);
+            }
+            version = data[1];
+            pos = 3;
+            return data[2];
+        }
+
+        public byte readByte() {
+            if (pos >= data.length) {
+                throw new SerializationException("Truncated event record");
+            }
+            return data[pos++];
+        }
+
+        public boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        public long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new SerializationException("Malformed varint in event record");
+        }
+
+        public long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | (readByte() & 0xFF);
+            }
+            return value;
+        }
+
+        public Long readNullableLong() {
+            long raw = readVarLong();
+            return raw == 0 ? null : unZigZag(raw - 1);
+        }
+
+        /**
+         * Saga timing field (version 2+) - null in older records.
+         */
+        public Long readTiming() {
+            return version >= 2 ? readNullableLong() : null;
+        }
+
+        public Double readAmount() {
+            Long minorUnits = readNullableLong();
+            return minorUnits == null ? null : minorUnits / 100.0;
+        }
+
+        public String readString() {
+            byte encoding = readByte();
+            switch (encoding) {
+                case NULL:
+                    return null;
+                case UUID_TEXT:
+                    return new UUID(readLong(), readLong()).toString();
+                case CORRELATION_ID:
+                    return CORRELATION_PREFIX + new UUID(readLong(), readLong());
+                case EPOCH_MILLIS:
+                    long millis = unZigZag(readVarLong());
+                    return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                            (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC).toString();
+                case TEXT:
+                    int length = (int) readVarLong();
+                    if (length < 0 || length > data.length - pos) {
+                        throw new SerializationException("Truncated event record");
+                    }
+                    String text = new String(data, pos, length, StandardCharsets.UTF_8);
+                    pos += length;
+                    return text;
+                default:
+                    throw new SerializationException("Unknown string encoding: " + encoding);
+            }
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    // Only the exact UUID.toString() form, so decoding gives back the same string
+    private static boolean isCanonicalUuid(String value, int offset) {
+        if (value.length() - offset != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(offset + i);
+            boolean valid = (i == 8 || i == 13 || i == 18 || i == 23)
+                    ? c == '-'
+                    : (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f');
+            if (!valid) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hexLong(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = result << 4 | Character.digit(value.charAt(i), 16);
+        }
+        return result;
+    }
+
+    /**
+     * LocalDateTime.toString() form (yyyy-MM-ddTHH:mm[:ss[.fraction]]) to epoch millis at UTC,
+     * or NOT_A_TIMESTAMP. Hand-rolled: LocalDateTime.parse allocates more than the whole encoded record.
+     */
+    private static long parseEpochMillis(String value) {
+        int length = value == null ? 0 : value.length();
+        if (length < 16 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':') {
+            return NOT_A_TIMESTAMP;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        int hour = digits(value, 11, 13);
+        int minute = digits(value, 14, 16);
+        int second = 0;
+        int millis = 0;
+        if (length > 16) {
+            if (length < 19 || value.charAt(16) != ':') {
+                return NOT_A_TIMESTAMP;
+            }
+            second = digits(value, 17, 19);
+            if (length > 19) {
+                if (value.charAt(19) != '.' || length == 20 || length > 29 || digits(value, 20, length) < 0) {
+                    return NOT_A_TIMESTAMP;
+                }
+                int fractionEnd = Math.min(length, 23);
+                millis = digits(value, 20, fractionEnd);
+                for (int i = fractionEnd; i < 23; i++) {
+                    millis *= 10;
+                }
+            }
+        }
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return NOT_A_TIMESTAMP;
+        }
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        return ((epochDay * 24 + hour) * 60 + minute) * 60_000 + second * 1000L + millis;
+    }
+
+    // Non-negative value of value[from, to) if it is all ASCII digits, otherwise -1
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
@@ -0,0 +1,40 @@
+package com.orderprocessing.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * publish.* settings of the PublishPipeline.
+ * Producer-wide settings (acks, idempotence, compression, default linger) stay under spring.kafka.producer.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "publish")
+public class PublishProperties {
+
+    // Sends allowed in flight before callers block (backpressure)
+    private int maxInFlight = 10000;
+
+    // How long a caller may block on a full window before the send fails
+    private long maxBlockMs = 30000;
+
+    // Total attempts per event, including the first one, for retriable failures
+    private int maxAttempts = 3;
+
+    // Delay before retry n is n * retryBackoffMs
+    private long retryBackoffMs = 200;
+
+    // Per-topic producer overrides, e.g. publish.topics.order-created.linger-ms=10
+    private Map<String, TopicSettings> topics = new HashMap<>();
+
+    @Data
+    public static class TopicSettings {
+        private Integer lingerMs;
+        private Integer batchSize;
+        private String compressionType;
+    }
+}
@@ -0,0 +1,29 @@
+package com.orderprocessing.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * processed-events.* settings of ProcessedEventCleanup. Its schedule is per service
+ * (inventory.processed-events.cleanup-cron, payment.processed-events.cleanup-cron).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "processed-events")
+public class RetentionProperties {
+
+    // Rows older than this are deleted (inventory's dedupe filter covers the same window)
+    private int retentionDays = 30;
+
+    // Rows per DELETE, each in its own short transaction
+    private int chunkSize = 5000;
+
+    // Pause between chunks, leaving the database to the saga traffic
+    private long chunkPauseMs = 100;
+
+    // A run stops after this long and the next one picks up where it left off
+    private Duration maxRunDuration = Duration.ofMinutes(2);
+}
@@ -0,0 +1,24 @@
+package com.orderprocessing.common.config;
+
+import com.orderprocessing.common.logging.LogCategory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * saga.log.* startup settings of the SagaLogger - change them at runtime through /actuator/sagalog.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "saga.log")
+public class SagaLogProperties {
+
+    // Share of sagas whose INFO lines are logged (0.0 - 1.0), per category; unlisted categories log everything
+    private Map<LogCategory, Double> sampleRate = new EnumMap<>(LogCategory.class);
+
+    // WARN/ERROR lines per category and second; the rest are dropped and counted
+    private int warnPerSecond = 50;
+}
@@ -0,0 +1,97 @@
+package com.orderprocessing.common.job;
+
+import com.orderprocessing.common.config.RetentionProperties;
+import com.orderprocessing.common.repository.ExpiringEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes processed_events past the retention window in bounded chunks - one short DELETE ... LIMIT
+ * transaction per chunk with a pause in between, until the window is clean or the run's time budget is
+ * spent. Each chunk costs the same however large the table is, and no rows are loaded into memory.
+ * Services subclass it to put cleanupOldEvents() on their own cron.
+ *
+ * Metrics: processed.events.retention.deleted (rows), processed.events.retention.chunk (time per DELETE),
+ * processed.events.retention.runs{outcome=completed|budget_exhausted}.
+ */
+@Slf4j
+public abstract class ProcessedEventCleanup {
+
+    private final ExpiringEventRepository repository;
+    private final RetentionProperties properties;
+
+    private final Counter deleted;
+    private final Timer chunkTimer;
+    private final Counter completedRuns;
+    private final Counter exhaustedRuns;
+
+    protected ProcessedEventCleanup(ExpiringEventRepository repository,
+                                    RetentionProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.deleted = Counter.builder("processed.events.retention.deleted")
+                .description("processed_events rows deleted by retention")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("processed.events.retention.chunk")
+                .description("Time per retention DELETE chunk")
+                .register(meterRegistry);
+        this.completedRuns = runCounter(meterRegistry, "completed");
+        this.exhaustedRuns = runCounter(meterRegistry, "budget_exhausted");
+    }
+
+    public void cleanupOldEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(properties.getRetentionDays());
+        long deadline = System.nanoTime() + properties.getMaxRunDuration().toNanos();
+        long total = 0;
+        int chunks = 0;
+
+        try {
+            while (true) {
+                int count = chunkTimer.record(() -> repository.deleteChunkBefore(cutoff, properties.getChunkSize()));
+                deleted.increment(count);
+                total += count;
+                chunks++;
+
+                if (count < properties.getChunkSize()) {
+                    completedRuns.increment();
+                    if (total > 0) {
+                        log.info("🧹 Cleaned up {} processed events older than {} days in {} chunk(s)",
+                                total, properties.getRetentionDays(), chunks);
+                    }
+                    windowCleaned(cutoff);
+                    return;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    exhaustedRuns.increment();
+                    log.info("🧹 Cleaned up {} processed events in {} chunk(s), more left for the next run",
+                            total, chunks);
+                    return;
+                }
+                Thread.sleep(properties.getChunkPauseMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.info("🧹 Processed-event cleanup interrupted after {} rows", total);
+        } catch (RuntimeException e) {
+            log.error("❌ Processed-event cleanup failed after {} rows: {}", total, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Called once a run has deleted everything processed before the cutoff.
+     */
+    protected void windowCleaned(LocalDateTime cutoff) {
+    }
+
+    private static Counter runCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("processed.events.retention.runs")
+                .description("Retention runs by how they ended")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.orderprocessing.common.logging;
+
+/**
+ * Hot-path log categories - each has its own sampling rate and WARN/ERROR rate limit.
+ */
+public enum LogCategory {
+
+    // An event taken off a topic
+    RECEIVE,
+
+    // An event handed to Kafka or the outbox
+    PUBLISH,
+
+    // The service's own saga step: state transitions, reserving stock, charging, sending notifications
+    PROCESS
+}
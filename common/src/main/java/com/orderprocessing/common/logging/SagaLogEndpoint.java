@@ -0,0 +1,72 @@
+package com.orderprocessing.common.logging;
+
+import com.orderprocessing.common.config.SagaLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * /actuator/sagalog - SagaLogger settings per category.
+ * POST /actuator/sagalog/{category} with {"sampleRate": 0.05} and/or {"warnPerSecond": 10} changes them.
+ */
+@Component
+@Endpoint(id = "sagalog")
+@Slf4j
+public class SagaLogEndpoint {
+
+    public SagaLogEndpoint(SagaLogProperties properties) {
+        for (LogCategory category : LogCategory.values()) {
+            SagaLogger.setSampleRate(category, properties.getSampleRate().getOrDefault(category, 1.0));
+            SagaLogger.setWarnPerSecond(category, properties.getWarnPerSecond());
+        }
+    }
+
+    @ReadOperation
+    public Map<LogCategory, CategorySettings> categories() {
+        Map<LogCategory, CategorySettings> settings = new EnumMap<>(LogCategory.class);
+        for (LogCategory category : LogCategory.values()) {
+            settings.put(category, CategorySettings.of(category));
+        }
+        return settings;
+    }
+
+    @ReadOperation
+    public CategorySettings category(@Selector LogCategory category) {
+        return CategorySettings.of(category);
+    }
+
+    @WriteOperation
+    public CategorySettings configure(@Selector LogCategory category,
+                                      @Nullable Double sampleRate,
+                                      @Nullable Integer warnPerSecond) {
+        try {
+            if (sampleRate != null) {
+                SagaLogger.setSampleRate(category, sampleRate);
+            }
+            if (warnPerSecond != null) {
+                SagaLogger.setWarnPerSecond(category, warnPerSecond);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+        log.info("🎚️ Saga log category {} now samples {} and allows {} WARN/ERROR line(s)/s",
+                category, SagaLogger.sampleRate(category), SagaLogger.warnPerSecond(category));
+        return CategorySettings.of(category);
+    }
+
+    public record CategorySettings(double sampleRate, int warnPerSecond, long rateLimited) {
+
+        static CategorySettings of(LogCategory category) {
+            return new CategorySettings(SagaLogger.sampleRate(category), SagaLogger.warnPerSecond(category),
+                    SagaLogger.rateLimited(category));
+        }
+    }
+}
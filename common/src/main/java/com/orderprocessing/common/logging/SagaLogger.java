@@ -0,0 +1,227 @@
+package com.orderprocessing.common.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logging for the saga's hot path. INFO lines are sampled per category, WARN/ERROR lines are rate limited
+ * per category, and the correlation ID travels in the MDC (see {@link #correlate}) instead of the message.
+ * A suppressed line is a few comparisons: no message is formatted and the fixed-arity overloads don't
+ * build a varargs array.
+ *
+ * Sampling hashes the correlation ID, so a sampled saga is logged in full - on every service running the
+ * same rate. Settings are static (one set per JVM - shared by all services in embedded mode) and changed
+ * through {@link SagaLogEndpoint}.
+ */
+public final class SagaLogger {
+
+    public static final String CORRELATION_ID = "correlationId";
+
+    // Sampling thresholds are out of 2^24; FULL logs everything
+    private static final int FULL = 1 << 24;
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    // nanoTime may be negative; rate-limit windows count seconds from class load
+    private static final long ORIGIN = System.nanoTime();
+
+    private static final CategoryState[] STATES = new CategoryState[LogCategory.values().length];
+
+    static {
+        for (LogCategory category : LogCategory.values()) {
+            STATES[category.ordinal()] = new CategoryState();
+        }
+    }
+
+    private static final Scope CLEAR = () -> MDC.remove(CORRELATION_ID);
+    private static final Scope KEEP = () -> { };
+
+    private final Logger log;
+
+    private SagaLogger(Logger log) {
+        this.log = log;
+    }
+
+    public static SagaLogger of(Class<?> type) {
+        return new SagaLogger(LoggerFactory.getLogger(type));
+    }
+
+    /**
+     * Puts the correlation ID in the MDC until the scope is closed; an enclosing scope's ID is restored.
+     */
+    public static Scope correlate(String correlationId) {
+        String previous = MDC.get(CORRELATION_ID);
+        if (previous == null) {
+            MDC.put(CORRELATION_ID, correlationId);
+            return CLEAR;
+        }
+        if (previous.equals(correlationId)) {
+            return KEEP;
+        }
+        MDC.put(CORRELATION_ID, correlationId);
+        return () -> MDC.put(CORRELATION_ID, previous);
+    }
+
+    public void info(LogCategory category, String message) {
+        if (log.isInfoEnabled() && sampled(category)) {
+            log.info(message);
+        }
+    }
+
+    public void info(LogCategory category, String format, Object arg) {
+        if (log.isInfoEnabled() && sampled(category)) {
+            log.info(format, arg);
+        }
+    }
+
+    public void info(LogCategory category, String format, Object arg1, Object arg2) {
+        if (log.isInfoEnabled() && sampled(category)) {
+            log.info(format, arg1, arg2);
+        }
+    }
+
+    public void info(LogCategory category, String format, Object... args) {
+        if (log.isInfoEnabled() && sampled(category)) {
+            log.info(format, args);
+        }
+    }
+
+    public void warn(LogCategory category, String format, Object arg) {
+        if (log.isWarnEnabled() && admitted(category)) {
+            log.warn(format, arg);
+        }
+    }
+
+    public void warn(LogCategory category, String format, Object arg1, Object arg2) {
+        if (log.isWarnEnabled() && admitted(category)) {
+            log.warn(format, arg1, arg2);
+        }
+    }
+
+    public void warn(LogCategory category, String format, Object... args) {
+        if (log.isWarnEnabled() && admitted(category)) {
+            log.warn(format, args);
+        }
+    }
+
+    public void error(LogCategory category, String format, Object arg) {
+        if (log.isErrorEnabled() && admitted(category)) {
+            log.error(format, arg);
+        }
+    }
+
+    public void error(LogCategory category, String format, Object arg1, Object arg2) {
+        if (log.isErrorEnabled() && admitted(category)) {
+            log.error(format, arg1, arg2);
+        }
+    }
+
+    public void error(LogCategory category, String format, Object... args) {
+        if (log.isErrorEnabled() && admitted(category)) {
+            log.error(format, args);
+        }
+    }
+
+    public static double sampleRate(LogCategory category) {
+        return STATES[category.ordinal()].rate;
+    }
+
+    public static void setSampleRate(LogCategory category, double rate) {
+        if (!(rate >= 0.0 && rate <= 1.0)) {
+            throw new IllegalArgumentException("Sample rate must be between 0.0 and 1.0: " + rate);
+        }
+        CategoryState state = STATES[category.ordinal()];
+        state.threshold = (int) Math.round(rate * FULL);
+        state.rate = rate;
+    }
+
+    public static int warnPerSecond(LogCategory category) {
+        return STATES[category.ordinal()].warnPerSecond;
+    }
+
+    public static void setWarnPerSecond(LogCategory category, int perSecond) {
+        if (perSecond < 0 || perSecond > COUNT_MASK) {
+            throw new IllegalArgumentException("WARN/ERROR lines per second out of range: " + perSecond);
+        }
+        STATES[category.ordinal()].warnPerSecond = perSecond;
+    }
+
+    // WARN/ERROR lines dropped by the rate limit since startup
+    public static long rateLimited(LogCategory category) {
+        return STATES[category.ordinal()].rateLimited.sum();
+    }
+
+    private static boolean sampled(LogCategory category) {
+        int threshold = STATES[category.ordinal()].threshold;
+        if (threshold >= FULL) {
+            return true;
+        }
+        if (threshold <= 0) {
+            return false;
+        }
+        String correlationId = MDC.get(CORRELATION_ID);
+        int hash = correlationId != null ? spread(correlationId.hashCode()) : ThreadLocalRandom.current().nextInt();
+        return (hash & (FULL - 1)) < threshold;
+    }
+
+    private boolean admitted(LogCategory category) {
+        CategoryState state = STATES[category.ordinal()];
+        int limit = state.warnPerSecond;
+        if (limit == 0) {
+            state.rateLimited.increment();
+            return false;
+        }
+        long second = (System.nanoTime() - ORIGIN) / 1_000_000_000L;
+        for (;;) {
+            long window = state.window.get();
+            if (window >>> COUNT_BITS != second) {
+                if (state.window.compareAndSet(window, second << COUNT_BITS | 1)) {
+                    // First line of a new second reports what the previous ones swallowed
+                    long dropped = state.droppedInWindow.getAndSet(0);
+                    if (dropped > 0) {
+                        log.warn("⚠️ {} {} WARN/ERROR line(s) suppressed by the rate limit", dropped, category);
+                    }
+                    return true;
+                }
+            } else if ((window & COUNT_MASK) >= limit) {
+                state.droppedInWindow.incrementAndGet();
+                state.rateLimited.increment();
+                return false;
+            } else if (state.window.compareAndSet(window, window + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // Murmur3 finalizer - correlation IDs share a long prefix, their raw hashes cluster
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class CategoryState {
+        volatile int threshold = FULL;
+        volatile double rate = 1.0;
+        volatile int warnPerSecond = 50;
+        // Current second in the upper bits, lines admitted in it in the lower COUNT_BITS
+        final AtomicLong window = new AtomicLong();
+        final AtomicLong droppedInWindow = new AtomicLong();
+        final LongAdder rateLimited = new LongAdder();
+    }
+
+    /**
+     * A correlation ID in the MDC; closing it restores the previous one.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,60 @@
+package com.orderprocessing.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saga latency timers, published with percentile histograms for /actuator/prometheus:
+ * - saga.queue.wait{topic}      event published by the previous hop → consumed here
+ * - saga.processing{topic}      consumed → handled here
+ * - saga.end.to.end{outcome}    order accepted → CONFIRMED / FAILED (order-service, where orders finish)
+ *
+ * Cross-service spans use epoch millis from the events, so they include clock skew between hosts
+ * (negative values are clamped to 0).
+ */
+@Component
+public class SagaMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public static long now() {
+        return System.currentTimeMillis();
+    }
+
+    public void recordQueueWait(String topic, Long publishedAt) {
+        if (publishedAt != null) {  // null: producer without saga timing
+            timer("saga.queue.wait", "Time between an event being published and consumed", "topic", topic)
+                    .record(Math.max(0, now() - publishedAt), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void recordProcessing(String topic, long startNanos) {
+        timer("saga.processing", "Time spent handling a consumed event", "topic", topic)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEndToEnd(String outcome, Long originTimestamp) {
+        if (originTimestamp != null) {
+            timer("saga.end.to.end", "Time from order accepted to its final state", "outcome", outcome)
+                    .record(Math.max(0, now() - originTimestamp), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private Timer timer(String name, String description, String tagKey, String tagValue) {
+        return Timer.builder(name)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
+}
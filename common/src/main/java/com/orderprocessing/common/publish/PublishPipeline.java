@@ -0,0 +1,172 @@
+package com.orderprocessing.common.publish;
+
+import com.orderprocessing.common.config.PublishProperties;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every Kafka send of the service goes through here:
+ * - per-topic producers (linger, batch size, compression) from publish.topics.*
+ * - a bounded in-flight window: callers block once publish.max-in-flight sends are unacknowledged
+ * - completion tracking: send latency per attempt, limited retries of retriable failures,
+ *   an error log + counter for events that could not be published
+ *
+ * A retried event can land behind later events with the same key - consumers dedupe on eventId.
+ */
+@Component
+public class PublishPipeline implements DisposableBean {
+
+    private static final SagaLogger log = SagaLogger.of(PublishPipeline.class);
+
+    private final KafkaTemplate<String, Object> defaultTemplate;
+    private final Map<String, KafkaTemplate<String, Object>> topicTemplates = new HashMap<>();
+    private final PublishProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore window;
+    private final ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("publish-retry").daemon().factory());
+
+    public PublishPipeline(KafkaTemplate<String, Object> kafkaTemplate,
+                           PublishProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.defaultTemplate = kafkaTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.window = new Semaphore(properties.getMaxInFlight());
+
+        properties.getTopics().forEach((topic, settings) ->
+                topicTemplates.put(topic, new KafkaTemplate<>(producerFactory(kafkaTemplate, settings))));
+
+        Gauge.builder("publish.in.flight", window, w -> properties.getMaxInFlight() - w.availablePermits())
+                .description("Sends waiting for a broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue one event. Blocks while the in-flight window is full.
+     * The future completes once the broker acknowledged it, or exceptionally after the last attempt failed.
+     */
+    public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object event,
+                                                              String correlationId) {
+        acquire(topic);
+        CompletableFuture<SendResult<String, Object>> result = new CompletableFuture<>();
+        result.whenComplete((sendResult, error) -> window.release());
+        attempt(topic, key, event, correlationId, 1, result);
+        return result;
+    }
+
+    /**
+     * Push everything queued so far without waiting for linger.ms - for callers about to wait on their futures.
+     */
+    public void flush() {
+        defaultTemplate.flush();
+        topicTemplates.values().forEach(KafkaTemplate::flush);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        retryScheduler.shutdownNow();
+        for (KafkaTemplate<String, Object> template : topicTemplates.values()) {
+            if (template.getProducerFactory() instanceof DisposableBean factory) {
+                factory.destroy();
+            }
+        }
+    }
+
+    private void attempt(String topic, String key, Object event, String correlationId, int attempt,
+                         CompletableFuture<SendResult<String, Object>> result) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> send;
+        try {
+            send = topicTemplates.getOrDefault(topic, defaultTemplate).send(topic, key, event);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);  // e.g. serialization errors
+        }
+
+        send.whenComplete((sendResult, error) -> {
+            latency(topic, error == null).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (error == null) {
+                result.complete(sendResult);
+            } else if (attempt < properties.getMaxAttempts() && isRetriable(error)) {
+                meterRegistry.counter("publish.send.retries", "topic", topic).increment();
+                try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+                    log.warn(LogCategory.PUBLISH, "🔁 Publish to {} with key {} failed (attempt {}/{}), retrying: {}",
+                            topic, key, attempt, properties.getMaxAttempts(), error.getMessage());
+                }
+                // Never resend from the producer's I/O thread - send() may block on a full buffer
+                retryScheduler.schedule(() -> attempt(topic, key, event, correlationId, attempt + 1, result),
+                        properties.getRetryBackoffMs() * attempt, TimeUnit.MILLISECONDS);
+            } else {
+                meterRegistry.counter("publish.send.failures", "topic", topic).increment();
+                try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+                    log.error(LogCategory.PUBLISH, "💥 Publish to {} with key {} failed after {} attempt(s): {}",
+                            topic, key, attempt, error.getMessage());
+                }
+                result.completeExceptionally(error);
+            }
+        });
+    }
+
+    private void acquire(String topic) {
+        try {
+            if (!window.tryAcquire(properties.getMaxBlockMs(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException(String.format(
+                        "Publish window full: %d sends to Kafka unacknowledged for %d ms (topic %s)",
+                        properties.getMaxInFlight(), properties.getMaxBlockMs(), topic));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the publish window", e);
+        }
+    }
+
+    private Timer latency(String topic, boolean success) {
+        return Timer.builder("publish.send.latency")
+                .description("Time from send to broker acknowledgement, per attempt")
+                .tag("topic", topic)
+                .tag("result", success ? "success" : "failure")
+                .register(meterRegistry);
+    }
+
+    private static boolean isRetriable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ProducerFactory<String, Object> producerFactory(KafkaTemplate<String, Object> template,
+                                                                   PublishProperties.TopicSettings settings) {
+        Map<String, Object> overrides = new HashMap<>();
+        if (settings.getLingerMs() != null) {
+            overrides.put(ProducerConfig.LINGER_MS_CONFIG, settings.getLingerMs());
+        }
+        if (settings.getBatchSize() != null) {
+            overrides.put(ProducerConfig.BATCH_SIZE_CONFIG, settings.getBatchSize());
+        }
+        if (settings.getCompressionType() != null) {
+            overrides.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, settings.getCompressionType());
+        }
+        return template.getProducerFactory().copyWithConfigurationOverride(overrides);
+    }
+}
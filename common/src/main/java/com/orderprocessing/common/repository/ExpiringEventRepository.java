@@ -0,0 +1,14 @@
+package com.orderprocessing.common.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A processed_events table ProcessedEventCleanup can trim - implemented by each service's ProcessedEventRepository.
+ */
+public interface ExpiringEventRepository {
+
+    /**
+     * Deletes up to limit rows processed before the cutoff, in one statement and its own transaction.
+     */
+    int deleteChunkBefore(LocalDateTime cutoff, int limit);
+}
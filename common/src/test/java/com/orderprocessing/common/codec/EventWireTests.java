@@ -0,0 +1,108 @@
+package com.orderprocessing.common.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventWireTests {
+
+	private static final String CORRELATION_ID = "corr-3f2b8c1e-9d4a-4e6f-8b7c-1a2d3e4f5a6b";
+	private static final String EVENT_ID = "0c9e6f1a-2b3c-4d5e-8f90-a1b2c3d4e5f6";
+	private static final String TIMESTAMP = "2026-10-18T17:15:54.123";
+	private static final long ORIGIN = 1_792_343_754_000L;
+	private static final long PUBLISHED = 1_792_343_754_250L;
+
+	@Test
+	void version2RecordRoundTrips() {
+		EventWire.Reader in = new EventWire.Reader(paymentFailed(true));
+
+		assertEquals(EventWire.PAYMENT_FAILED, in.readHeader());
+		assertPaymentFailedFields(in);
+		assertEquals(ORIGIN, in.readTiming());
+		assertEquals(PUBLISHED, in.readTiming());
+	}
+
+	@Test
+	void version1RecordDecodesWithoutTimings() {
+		// Version 1 is the same layout without the trailing originTimestamp/publishedAt
+		byte[] record = paymentFailed(false);
+		record[1] = 1;
+		EventWire.Reader in = new EventWire.Reader(record);
+
+		assertEquals(EventWire.PAYMENT_FAILED, in.readHeader());
+		assertPaymentFailedFields(in);
+		assertNull(in.readTiming());
+		assertNull(in.readTiming());
+	}
+
+	@Test
+	void amountsNullsAndNonIsoTimestampsRoundTrip() {
+		EventWire.Writer out = new EventWire.Writer().begin(EventWire.ORDER_CREATED);
+		out.writeAmount(1234.56);
+		out.writeAmount(null);
+		out.writeNullableLong(-7L);
+		out.writeNullableLong(null);
+		out.writeTimestamp("yesterday");
+		out.writeString("Zoë Müller");
+
+		EventWire.Reader in = new EventWire.Reader(out.toByteArray());
+		assertEquals(EventWire.ORDER_CREATED, in.readHeader());
+		assertEquals(1234.56, in.readAmount());
+		assertNull(in.readAmount());
+		assertEquals(-7L, in.readNullableLong());
+		assertNull(in.readNullableLong());
+		assertEquals("yesterday", in.readString());
+		assertEquals("Zoë Müller", in.readString());
+	}
+
+	@Test
+	void rejectsJsonUnknownVersionsAndTruncatedRecords() {
+		assertFalse(EventWire.isBinary("{\"orderId\":1}".getBytes(StandardCharsets.UTF_8)));
+
+		byte[] future = paymentFailed(true);
+		future[1] = EventWire.VERSION + 1;
+		assertThrows(SerializationException.class, () -> new EventWire.Reader(future).readHeader());
+
+		byte[] record = paymentFailed(true);
+		byte[] truncated = Arrays.copyOf(record, record.length - 3);
+		assertTrue(EventWire.isBinary(truncated));
+		EventWire.Reader in = new EventWire.Reader(truncated);
+		in.readHeader();
+		assertThrows(SerializationException.class, () -> {
+			assertPaymentFailedFields(in);
+			in.readTiming();
+			in.readTiming();
+		});
+	}
+
+	// correlationId, eventId, orderId, reason, timestamp [, originTimestamp, publishedAt]
+	private static byte[] paymentFailed(boolean withTimings) {
+		EventWire.Writer out = new EventWire.Writer().begin(EventWire.PAYMENT_FAILED);
+		out.writeString(CORRELATION_ID);
+		out.writeString(EVENT_ID);
+		out.writeNullableLong(42L);
+		out.writeString("Insufficient funds");
+		out.writeTimestamp(TIMESTAMP);
+		if (withTimings) {
+			out.writeNullableLong(ORIGIN);
+			out.writeNullableLong(PUBLISHED);
+		}
+		return out.toByteArray();
+	}
+
+	private static void assertPaymentFailedFields(EventWire.Reader in) {
+		assertEquals(CORRELATION_ID, in.readString());
+		assertEquals(EVENT_ID, in.readString());
+		assertEquals(42L, in.readNullableLong());
+		assertEquals("Insufficient funds", in.readString());
+		assertEquals(TIMESTAMP, in.readString());
+	}
+}
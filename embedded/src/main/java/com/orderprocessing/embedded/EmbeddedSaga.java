@@ -0,0 +1,87 @@
+package com.orderprocessing.embedded;
+
+import com.orderprocessing.embedded.bus.InMemoryEventBus;
+import com.orderprocessing.embedded.bus.InMemoryKafkaPostProcessor;
+import com.orderprocessing.inventoryservice.InventoryServiceApplication;
+import com.orderprocessing.notificationservice.NotificationServiceApplication;
+import com.orderprocessing.orderservice.OrderServiceApplication;
+import com.orderprocessing.paymentservice.PaymentServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The four saga services in one JVM, each in its own Spring context (as its own application, with its own
+ * application.properties, H2 database and meter registry), all exchanging events over one {@link InMemoryEventBus}.
+ *
+ * Config per service: its application.properties, then embedded/common.properties, then
+ * embedded/&lt;service&gt;.properties, then the command-line arguments.
+ */
+@Slf4j
+public class EmbeddedSaga implements AutoCloseable {
+
+    public static final String PROFILE = "embedded";
+
+    private final InMemoryEventBus bus;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private ConfigurableApplicationContext orderService;
+
+    private EmbeddedSaga(InMemoryEventBus bus) {
+        this.bus = bus;
+    }
+
+    /**
+     * Start the services downstream-first, so every consumer group has joined before order-service
+     * publishes its first event.
+     */
+    public static EmbeddedSaga start(int defaultPartitions, String... args) {
+        EmbeddedSaga saga = new EmbeddedSaga(new InMemoryEventBus(defaultPartitions));
+        try {
+            saga.startService("notification-service", NotificationServiceApplication.class, args);
+            saga.startService("payment-service", PaymentServiceApplication.class, args);
+            saga.startService("inventory-service", InventoryServiceApplication.class, args);
+            saga.orderService = saga.startService("order-service", OrderServiceApplication.class, args);
+        } catch (RuntimeException e) {
+            saga.close();
+            throw e;
+        }
+        return saga;
+    }
+
+    private ConfigurableApplicationContext startService(String name, Class<?> application, String... args) {
+        log.info("🚀 Starting {} on the in-memory bus", name);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .profiles(PROFILE)
+                .properties("spring.config.location=classpath:/" + name + "/application.properties,"
+                        + "classpath:/embedded/common.properties,"
+                        + "classpath:/embedded/" + name + ".properties")
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new InMemoryKafkaPostProcessor(bus)))
+                .registerShutdownHook(false)
+                .run(args);
+        contexts.add(context);
+        return context;
+    }
+
+    public ConfigurableApplicationContext orderService() {
+        return orderService;
+    }
+
+    public InMemoryEventBus bus() {
+        return bus;
+    }
+
+    /**
+     * Upstream-first, so nothing publishes into a service that's already gone.
+     */
+    @Override
+    public void close() {
+        List<ConfigurableApplicationContext> stopping = new ArrayList<>(contexts);
+        Collections.reverse(stopping);
+        stopping.forEach(ConfigurableApplicationContext::close);
+        contexts.clear();
+    }
+}
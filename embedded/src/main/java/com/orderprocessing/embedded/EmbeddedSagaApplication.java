@@ -0,0 +1,86 @@
+package com.orderprocessing.embedded;
+
+import com.orderprocessing.orderservice.entity.Order;
+import com.orderprocessing.orderservice.service.OrderService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the whole saga in one JVM.
+ *
+ * Without options it keeps running with order-service's REST API on its usual port. With
+ * {@code --embedded.drive.orders=N} it ingests N orders through OrderService.processOrders, waits for all of
+ * them to reach CONFIRMED / FAILED, prints the throughput and exits.
+ */
+@Slf4j
+public class EmbeddedSagaApplication {
+
+    public static void main(String[] args) throws Exception {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        int partitions = Integer.parseInt(option(options, "embedded.bus.partitions", "3"));
+        int orders = Integer.parseInt(option(options, "embedded.drive.orders", "0"));
+        int batchSize = Integer.parseInt(option(options, "embedded.drive.batch-size", "500"));
+        long timeoutSeconds = Long.parseLong(option(options, "embedded.drive.timeout-seconds", "600"));
+
+        EmbeddedSaga saga = EmbeddedSaga.start(partitions, args);
+        if (orders <= 0) {
+            Runtime.getRuntime().addShutdownHook(new Thread(saga::close));
+            log.info("✅ Saga running in one JVM - POST orders to order-service at /api/orders");
+            return;
+        }
+        try (saga) {
+            drive(saga, orders, batchSize, TimeUnit.SECONDS.toNanos(timeoutSeconds));
+        }
+        System.exit(0);
+    }
+
+    private static void drive(EmbeddedSaga saga, int orders, int batchSize, long timeoutNanos) throws InterruptedException {
+        OrderService orderService = saga.orderService().getBean(OrderService.class);
+        JdbcTemplate jdbcTemplate = saga.orderService().getBean(JdbcTemplate.class);
+
+        long start = System.nanoTime();
+        for (int from = 0; from < orders; from += batchSize) {
+            List<Order> batch = new ArrayList<>(batchSize);
+            for (int i = from; i < Math.min(from + batchSize, orders); i++) {
+                batch.add(new Order("embedded-customer-" + i, BigDecimal.valueOf(100)));
+            }
+            orderService.processOrders(batch);
+        }
+        long ingested = System.nanoTime();
+
+        Map<String, Object> counts = terminalCounts(jdbcTemplate);
+        while (((Number) counts.get("total")).longValue() < orders && System.nanoTime() - start < timeoutNanos) {
+            TimeUnit.MILLISECONDS.sleep(50);
+            counts = terminalCounts(jdbcTemplate);
+        }
+        long end = System.nanoTime();
+
+        double seconds = (end - start) / 1e9;
+        System.out.printf("==== embedded saga: %d orders, %d partitions per topic ====%n", orders, saga.bus().partitionCount("order-created"));
+        System.out.printf("ingested in     %.2fs%n", (ingested - start) / 1e9);
+        System.out.printf("terminal        %s of %d in %.2fs (confirmed %s, failed %s)%n",
+                counts.get("total"), orders, seconds, counts.get("confirmed"), counts.get("failed"));
+        System.out.printf("throughput      %.0f orders/s%n", ((Number) counts.get("total")).longValue() / seconds);
+    }
+
+    private static Map<String, Object> terminalCounts(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForMap("""
+                SELECT COUNT(*) AS total,
+                       COUNT(CASE WHEN state = 'CONFIRMED' THEN 1 END) AS confirmed,
+                       COUNT(CASE WHEN state = 'FAILED' THEN 1 END) AS failed
+                FROM orders WHERE state IN ('CONFIRMED', 'FAILED')
+                """);
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value != null ? value : defaultValue;
+    }
+}
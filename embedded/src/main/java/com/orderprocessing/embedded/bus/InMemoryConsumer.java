@@ -0,0 +1,173 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetCommitCallback;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.InterruptException;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Consumer reading from the {@link InMemoryEventBus} as a member of its group.
+ *
+ * MockConsumer keeps the client-side state the listener containers use (assignment, positions, pause/resume,
+ * seeks from error handlers); this class adds group membership with rebalance callbacks, fetching and
+ * deserializing from the partition logs, and committing offsets back to the group.
+ */
+class InMemoryConsumer<K, V> extends MockConsumer<K, V> {
+
+    private final InMemoryEventBus bus;
+    private final String groupId;
+    private final Deserializer<K> keyDeserializer;
+    private final Deserializer<V> valueDeserializer;
+    private final int maxPollRecords;
+
+    private final AtomicBoolean wakeup = new AtomicBoolean();
+    private int generation = -1;
+    private int nextPartition;  // Rotates where each fetch starts so one busy partition can't starve the others
+
+    InMemoryConsumer(InMemoryEventBus bus, String groupId, Deserializer<K> keyDeserializer,
+                     Deserializer<V> valueDeserializer, int maxPollRecords) {
+        super(OffsetResetStrategy.EARLIEST);
+        this.bus = bus;
+        this.groupId = groupId;
+        this.keyDeserializer = keyDeserializer;
+        this.valueDeserializer = valueDeserializer;
+        this.maxPollRecords = maxPollRecords;
+    }
+
+    @Override
+    public synchronized void subscribe(Collection<String> topics, ConsumerRebalanceListener listener) {
+        super.subscribe(topics, listener);
+        bus.join(groupId, this, topics);
+    }
+
+    @Override
+    public ConsumerRecords<K, V> poll(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            long seen = bus.appendCount();
+            ConsumerRecords<K, V> records = fetch();
+            long remaining = deadline - System.nanoTime();
+            if (!records.isEmpty() || remaining <= 0) {
+                return records;
+            }
+            try {
+                bus.awaitAppend(seen, remaining);  // Not holding the consumer's monitor while parked
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptException(e);
+            }
+        }
+    }
+
+    private synchronized ConsumerRecords<K, V> fetch() {
+        if (closed()) {
+            throw new IllegalStateException("This consumer has already been closed.");
+        }
+        if (wakeup.getAndSet(false)) {
+            throw new WakeupException();
+        }
+        rebalanceIfNeeded();
+
+        List<TopicPartition> partitions = new ArrayList<>(assignment());
+        partitions.removeAll(paused());
+        Map<TopicPartition, List<ConsumerRecord<K, V>>> fetched = new HashMap<>();
+        int budget = maxPollRecords;
+        for (int i = 0; i < partitions.size() && budget > 0; i++) {
+            TopicPartition tp = partitions.get((nextPartition + i) % partitions.size());
+            long position = position(tp);
+            List<InMemoryEventBus.Entry> entries = bus.read(tp, position, budget);
+            if (entries.isEmpty()) {
+                continue;
+            }
+            List<ConsumerRecord<K, V>> records = new ArrayList<>(entries.size());
+            for (InMemoryEventBus.Entry entry : entries) {
+                records.add(toRecord(tp, position + records.size(), entry));
+            }
+            fetched.put(tp, records);
+            seek(tp, position + records.size());
+            budget -= records.size();
+        }
+        nextPartition++;
+        return fetched.isEmpty() ? ConsumerRecords.empty() : new ConsumerRecords<>(fetched);
+    }
+
+    private ConsumerRecord<K, V> toRecord(TopicPartition tp, long offset, InMemoryEventBus.Entry entry) {
+        RecordHeaders headers = new RecordHeaders(entry.headers());  // Own copy - deserializers may add headers
+        K key = keyDeserializer.deserialize(tp.topic(), headers, entry.key());
+        V value = valueDeserializer.deserialize(tp.topic(), headers, entry.value());
+        return new ConsumerRecord<>(tp.topic(), tp.partition(), offset, entry.timestamp(), TimestampType.CREATE_TIME,
+                entry.key() == null ? -1 : entry.key().length, entry.value() == null ? -1 : entry.value().length,
+                key, value, headers, Optional.empty());
+    }
+
+    private void rebalanceIfNeeded() {
+        int current = bus.generation(groupId);
+        if (current == generation) {
+            return;
+        }
+        generation = current;
+
+        // Partitions we keep continue where they are, new ones start from the group's committed offset.
+        // MockConsumer positions unseeked partitions at their "beginning", so that's where the start goes
+        Set<TopicPartition> target = bus.assignment(groupId, this);
+        Map<TopicPartition, Long> starts = new HashMap<>();
+        for (TopicPartition tp : target) {
+            if (assignment().contains(tp)) {
+                starts.put(tp, position(tp));
+            } else {
+                OffsetAndMetadata committed = bus.committed(groupId, tp);
+                starts.put(tp, committed != null ? committed.offset() : 0L);
+            }
+        }
+        updateBeginningOffsets(starts);
+        rebalance(target);  // Fires the container's onPartitionsRevoked / onPartitionsAssigned
+    }
+
+    @Override
+    public synchronized void commitAsync(Map<TopicPartition, OffsetAndMetadata> offsets, OffsetCommitCallback callback) {
+        bus.commit(groupId, offsets);
+        super.commitAsync(offsets, callback);
+    }
+
+    @Override
+    public synchronized void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        bus.commit(groupId, offsets);
+        super.commitSync(offsets);
+    }
+
+    @Override
+    public void commitSync(Map<TopicPartition, OffsetAndMetadata> offsets, Duration timeout) {
+        commitSync(offsets);
+    }
+
+    @Override
+    public void wakeup() {
+        wakeup.set(true);
+        bus.signalAll();
+    }
+
+    @Override
+    public synchronized void close(Duration timeout) {
+        bus.leave(groupId, this);
+        super.close(timeout);
+    }
+}
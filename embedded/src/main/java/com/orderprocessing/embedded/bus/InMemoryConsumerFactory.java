@@ -0,0 +1,43 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.util.Map;
+
+/**
+ * DefaultKafkaConsumerFactory whose raw consumers read from the {@link InMemoryEventBus}.
+ * Listener-level properties (group id, max.poll.records, deserializer delegates) are applied as usual.
+ */
+public class InMemoryConsumerFactory<K, V> extends DefaultKafkaConsumerFactory<K, V> {
+
+    private static final int DEFAULT_MAX_POLL_RECORDS = 500;
+
+    private final InMemoryEventBus bus;
+
+    public InMemoryConsumerFactory(InMemoryEventBus bus, Map<String, Object> configs) {
+        super(configs);
+        this.bus = bus;
+    }
+
+    @Override
+    protected Consumer<K, V> createRawConsumer(Map<String, Object> configProps) {
+        Object maxPollRecords = configProps.get(ConsumerConfig.MAX_POLL_RECORDS_CONFIG);
+        return new InMemoryConsumer<>(bus,
+                String.valueOf(configProps.get(ConsumerConfig.GROUP_ID_CONFIG)),
+                deserializer(configProps, ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, true),
+                deserializer(configProps, ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, false),
+                maxPollRecords == null ? DEFAULT_MAX_POLL_RECORDS : Integer.parseInt(maxPollRecords.toString()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Deserializer<T> deserializer(Map<String, Object> configs, String classConfig, boolean isKey) {
+        Deserializer<T> deserializer = (Deserializer<T>) BeanUtils.instantiateClass(
+                InMemoryProducerFactory.resolveClass(configs.get(classConfig)));
+        deserializer.configure(configs, isKey);
+        return deserializer;
+    }
+}
@@ -0,0 +1,216 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Stand-in for the Kafka cluster when every service runs in one JVM.
+ *
+ * Same contract the services rely on: topics are split into partitions, records with the same key land in the
+ * same partition (murmur2, like the default partitioner) and keep their order there, and each consumer group
+ * reads every partition from its committed offset. Records are kept serialized, so the codecs still run.
+ * Nothing is ever deleted - it's meant for runs that fit in the heap.
+ */
+public class InMemoryEventBus {
+
+    public record Entry(long timestamp, byte[] key, byte[] value, Header[] headers) {}
+
+    private final int defaultPartitions;
+    private final Map<String, Partition[]> topics = new ConcurrentHashMap<>();
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+    private final AtomicInteger unkeyedPartition = new AtomicInteger();
+
+    // Consumers with nothing to read park until the next append (or a wakeup). Waking them takes no lock:
+    // acks arrive from virtual threads pinned inside the container's synchronized ack path, and a pinned
+    // thread waiting on a lock held by an unmounted one can starve every carrier
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicLong appendCount = new AtomicLong();
+
+    public InMemoryEventBus(int defaultPartitions) {
+        this.defaultPartitions = defaultPartitions;
+    }
+
+    /**
+     * Declare a topic - the first declaration wins, like creating an existing topic on a broker.
+     * Topics that are used before being declared get the default partition count (broker auto-create).
+     */
+    public void createTopic(String topic, int partitions) {
+        topics.computeIfAbsent(topic, t -> newPartitions(partitions > 0 ? partitions : defaultPartitions));
+    }
+
+    public int partitionCount(String topic) {
+        return partitions(topic).length;
+    }
+
+    public int partitionFor(String topic, byte[] key) {
+        int count = partitionCount(topic);
+        if (key == null) {
+            return Utils.toPositive(unkeyedPartition.getAndIncrement()) % count;
+        }
+        return Utils.toPositive(Utils.murmur2(key)) % count;
+    }
+
+    /**
+     * @return the record's offset in its partition
+     */
+    public long append(String topic, int partition, Entry entry) {
+        long offset = partitions(topic)[partition].append(entry);
+        appendCount.incrementAndGet();
+        signalAll();
+        return offset;
+    }
+
+    public List<Entry> read(TopicPartition tp, long fromOffset, int maxRecords) {
+        return partitions(tp.topic())[tp.partition()].read(fromOffset, maxRecords);
+    }
+
+    public long appendCount() {
+        return appendCount.get();
+    }
+
+    /**
+     * Park until something is appended after {@code seenAppendCount}, a wakeup, or the timeout.
+     */
+    public void awaitAppend(long seenAppendCount, long timeoutNanos) throws InterruptedException {
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            // Registered before the re-check, so an append in between leaves an unpark permit
+            if (appendCount.get() == seenAppendCount) {
+                LockSupport.parkNanos(this, timeoutNanos);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    public void signalAll() {
+        for (Thread waiter : waiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    // ---- consumer groups ----
+
+    public void join(String groupId, Object member, Collection<String> topics) {
+        topics.forEach(topic -> partitions(topic));
+        group(groupId).join(member, topics);
+    }
+
+    public void leave(String groupId, Object member) {
+        group(groupId).leave(member);
+    }
+
+    /**
+     * Bumped whenever a member joins or leaves; members pick up their new assignment on their next poll.
+     */
+    public int generation(String groupId) {
+        return group(groupId).generation;
+    }
+
+    public Set<TopicPartition> assignment(String groupId, Object member) {
+        return group(groupId).assignment(member);
+    }
+
+    public OffsetAndMetadata committed(String groupId, TopicPartition tp) {
+        return group(groupId).offsets.get(tp);
+    }
+
+    public void commit(String groupId, Map<TopicPartition, OffsetAndMetadata> offsets) {
+        group(groupId).offsets.putAll(offsets);
+    }
+
+    private Group group(String groupId) {
+        return groups.computeIfAbsent(groupId, id -> new Group());
+    }
+
+    private Partition[] partitions(String topic) {
+        return topics.computeIfAbsent(topic, t -> newPartitions(defaultPartitions));
+    }
+
+    private static Partition[] newPartitions(int count) {
+        Partition[] partitions = new Partition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new Partition();
+        }
+        return partitions;
+    }
+
+    private static final class Partition {
+
+        private final List<Entry> log = new ArrayList<>();
+
+        synchronized long append(Entry entry) {
+            log.add(entry);
+            return log.size() - 1;
+        }
+
+        synchronized List<Entry> read(long fromOffset, int maxRecords) {
+            int from = (int) Math.min(fromOffset, log.size());
+            int to = (int) Math.min((long) from + maxRecords, log.size());
+            return from == to ? List.of() : new ArrayList<>(log.subList(from, to));
+        }
+    }
+
+    /**
+     * Static membership: partitions of each topic are dealt round-robin over the members subscribed to it,
+     * in join order. No cooperative handoff - a moved partition is read from the committed offset, so records
+     * the previous owner hadn't committed are delivered again (at-least-once, as with Kafka).
+     */
+    private final class Group {
+
+        private final Map<Object, Set<String>> members = new LinkedHashMap<>();
+        private final Map<TopicPartition, OffsetAndMetadata> offsets = new ConcurrentHashMap<>();
+        private volatile int generation;
+
+        synchronized void join(Object member, Collection<String> topics) {
+            members.put(member, new HashSet<>(topics));
+            generation++;
+        }
+
+        synchronized void leave(Object member) {
+            if (members.remove(member) != null) {
+                generation++;
+            }
+        }
+
+        synchronized Set<TopicPartition> assignment(Object member) {
+            Set<String> subscribed = members.get(member);
+            if (subscribed == null) {
+                return Set.of();
+            }
+            Set<TopicPartition> assigned = new HashSet<>();
+            for (String topic : new TreeSet<>(subscribed)) {
+                List<Object> consumers = new ArrayList<>();
+                members.forEach((m, t) -> {
+                    if (t.contains(topic)) {
+                        consumers.add(m);
+                    }
+                });
+                int index = consumers.indexOf(member);
+                for (int p = index; p < partitionCount(topic); p += consumers.size()) {
+                    assigned.add(new TopicPartition(topic, p));
+                }
+            }
+            return assigned;
+        }
+    }
+}
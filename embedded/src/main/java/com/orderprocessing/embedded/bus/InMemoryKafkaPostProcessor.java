@@ -0,0 +1,37 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+/**
+ * Moves a service context onto the {@link InMemoryEventBus} without touching its code: its producer and
+ * consumer factories are swapped for in-memory ones with the same configuration, and its NewTopic beans
+ * declare the topics' partition counts on the bus.
+ */
+public class InMemoryKafkaPostProcessor implements BeanPostProcessor {
+
+    private final InMemoryEventBus bus;
+
+    public InMemoryKafkaPostProcessor(InMemoryEventBus bus) {
+        this.bus = bus;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof NewTopic topic) {
+            bus.createTopic(topic.name(), topic.numPartitions());
+        } else if (bean instanceof DefaultKafkaProducerFactory<?, ?> factory && !(bean instanceof InMemoryProducerFactory)) {
+            return inMemory(factory);
+        } else if (bean instanceof DefaultKafkaConsumerFactory<?, ?> factory && !(bean instanceof InMemoryConsumerFactory)) {
+            return new InMemoryConsumerFactory<>(bus, factory.getConfigurationProperties());
+        }
+        return bean;
+    }
+
+    private <K, V> InMemoryProducerFactory<K, V> inMemory(DefaultKafkaProducerFactory<K, V> factory) {
+        return new InMemoryProducerFactory<>(bus, factory.getConfigurationProperties(),
+                factory.getKeySerializerSupplier(), factory.getValueSerializerSupplier());
+    }
+}
@@ -0,0 +1,49 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+/**
+ * Producer that appends to the {@link InMemoryEventBus}: records are serialized with the configured
+ * serializers and acknowledged as soon as they're in the partition log.
+ * Everything else (flush, close, metrics) is MockProducer's no-op behaviour.
+ */
+class InMemoryProducer<K, V> extends MockProducer<K, V> {
+
+    private final InMemoryEventBus bus;
+    private final Serializer<K> keySerializer;
+    private final Serializer<V> valueSerializer;
+
+    InMemoryProducer(InMemoryEventBus bus, Serializer<K> keySerializer, Serializer<V> valueSerializer) {
+        super(true, keySerializer, valueSerializer);
+        this.bus = bus;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public Future<RecordMetadata> send(ProducerRecord<K, V> record, Callback callback) {
+        String topic = record.topic();
+        byte[] key = keySerializer.serialize(topic, record.headers(), record.key());
+        byte[] value = valueSerializer.serialize(topic, record.headers(), record.value());
+        int partition = record.partition() != null ? record.partition() : bus.partitionFor(topic, key);
+        long timestamp = record.timestamp() != null ? record.timestamp() : System.currentTimeMillis();
+
+        long offset = bus.append(topic, partition,
+                new InMemoryEventBus.Entry(timestamp, key, value, record.headers().toArray()));
+
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(topic, partition), offset, 0, timestamp,
+                key == null ? -1 : key.length, value == null ? -1 : value.length);
+        if (callback != null) {
+            callback.onCompletion(metadata, null);
+        }
+        return CompletableFuture.completedFuture(metadata);
+    }
+}
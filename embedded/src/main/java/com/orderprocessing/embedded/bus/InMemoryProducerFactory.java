@@ -0,0 +1,62 @@
+package com.orderprocessing.embedded.bus;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.BeanUtils;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * DefaultKafkaProducerFactory whose raw producers write to the {@link InMemoryEventBus}.
+ * Template-level behaviour (shared producer, per-topic copies, serializer configuration) is unchanged.
+ */
+public class InMemoryProducerFactory<K, V> extends DefaultKafkaProducerFactory<K, V> {
+
+    private final InMemoryEventBus bus;
+
+    public InMemoryProducerFactory(InMemoryEventBus bus, Map<String, Object> configs,
+                                   Supplier<Serializer<K>> keySerializer, Supplier<Serializer<V>> valueSerializer) {
+        super(configs, keySerializer, valueSerializer);
+        this.bus = bus;
+    }
+
+    @Override
+    protected Producer<K, V> createRawProducer(Map<String, Object> rawConfigs) {
+        return new InMemoryProducer<>(bus,
+                serializer(getKeySerializerSupplier(), rawConfigs, ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, true),
+                serializer(getValueSerializerSupplier(), rawConfigs, ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, false));
+    }
+
+    // PublishPipeline's per-topic templates are copies - keep them on the bus too
+    @Override
+    public ProducerFactory<K, V> copyWithConfigurationOverride(Map<String, Object> overrideProperties) {
+        Map<String, Object> configs = new HashMap<>(getConfigurationProperties());
+        configs.putAll(overrideProperties);
+        return new InMemoryProducerFactory<>(bus, configs, getKeySerializerSupplier(), getValueSerializerSupplier());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Serializer<T> serializer(Supplier<Serializer<T>> supplier, Map<String, Object> configs,
+                                                String classConfig, boolean isKey) {
+        Serializer<T> serializer = supplier != null ? supplier.get() : null;
+        if (serializer == null) {
+            // Configured by class name, as KafkaProducer would do it
+            serializer = (Serializer<T>) BeanUtils.instantiateClass(resolveClass(configs.get(classConfig)));
+            serializer.configure(configs, isKey);
+        }
+        return serializer;
+    }
+
+    static Class<?> resolveClass(Object classOrName) {
+        if (classOrName instanceof Class<?> type) {
+            return type;
+        }
+        return ClassUtils.resolveClassName(String.valueOf(classOrName).trim(), null);
+    }
+}
@@ -0,0 +1,71 @@
+package com.orderprocessing.embedded;
+
+import com.orderprocessing.orderservice.OrderRepository;
+import com.orderprocessing.orderservice.entity.Order;
+import com.orderprocessing.orderservice.model.OrderState;
+import com.orderprocessing.orderservice.service.OrderService;
+import com.orderprocessing.orderservice.stats.OrderStats;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmbeddedSagaTests {
+
+	private static final Set<OrderState> TERMINAL = EnumSet.of(OrderState.CONFIRMED, OrderState.FAILED);
+
+	@Test
+	void sagaRunsToCompletionOnTheInMemoryBus() throws InterruptedException {
+		try (EmbeddedSaga saga = EmbeddedSaga.start(3, "--server.port=0")) {
+			OrderService orderService = saga.orderService().getBean(OrderService.class);
+			OrderRepository orderRepository = saga.orderService().getBean(OrderRepository.class);
+
+			Order first = orderService.processOrder(new Order("Embedded Test", BigDecimal.valueOf(100)));
+			Order second = orderService.processOrder(new Order("Embedded Test", BigDecimal.valueOf(100)));
+
+			// Even ids are paid, odd ones are declined and compensated
+			for (Order order : new Order[]{first, second}) {
+				OrderState expected = order.getId() % 2 == 0 ? OrderState.CONFIRMED : OrderState.FAILED;
+				assertEquals(expected, awaitTerminal(orderRepository, order.getId()));
+			}
+
+			// The compare-and-set transitions carry each order's amount into the stats
+			OrderStats orderStats = saga.orderService().getBean(OrderStats.class);
+			assertEquals(new BigDecimal("200.00"), awaitFinishedAmount(orderStats));
+			assertEquals(new BigDecimal("0.00"), orderStats.snapshot().amountByState().get(OrderState.PROCESSING));
+		}
+	}
+
+	// Stats move after commit, a moment after the state is visible
+	private static BigDecimal awaitFinishedAmount(OrderStats orderStats) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		BigDecimal amount = null;
+		while (System.nanoTime() < deadline) {
+			Map<OrderState, BigDecimal> amounts = orderStats.snapshot().amountByState();
+			amount = amounts.get(OrderState.CONFIRMED).add(amounts.get(OrderState.FAILED));
+			if (amount.compareTo(new BigDecimal("200.00")) >= 0) {
+				return amount;
+			}
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		return amount;
+	}
+
+	private static OrderState awaitTerminal(OrderRepository orderRepository, Long orderId) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		OrderState state = null;
+		while (System.nanoTime() < deadline) {
+			state = orderRepository.findById(orderId).map(Order::getState).orElse(null);
+			if (TERMINAL.contains(state)) {
+				return state;
+			}
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		return state;
+	}
+}
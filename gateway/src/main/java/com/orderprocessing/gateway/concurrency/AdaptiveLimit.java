@@ -0,0 +1,131 @@
+package com.orderprocessing.gateway.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one upstream, adjusted from the latency of the calls it lets through
+ * (the gradient controller from Netflix's concurrency-limits, Gradient2).
+ *
+ * RTTs are averaged over short sample windows. A baseline that drops with the lowest window RTT and
+ * rises only slowly stands for the upstream's unloaded latency. While window RTTs stay within
+ * {@code TOLERANCE} of it the limit grows by about sqrt(limit) per window; once they rise above it -
+ * requests are queueing somewhere - the limit shrinks in proportion. Overload errors from upstream
+ * (502/503/504, connect failures) back the limit off multiplicatively, as in AIMD.
+ */
+public class AdaptiveLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+    private static final long MIN_WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+    private static final int MIN_WINDOW_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double longRtt;
+    private long windowStart = System.nanoTime();
+    private long windowRttSum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+
+    public AdaptiveLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if fewer than {@code share} of the limit are in flight. A share below 1 keeps
+     * the rest of the limit for other callers, so they are shed later.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtSample = inFlight.getAndDecrement();
+        synchronized (this) {
+            windowRttSum += rttNanos;
+            windowSamples++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtSample);
+            closeWindowIfDue();
+        }
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            windowDropped = true;
+            closeWindowIfDue();
+        }
+    }
+
+    // Cancelled by the client - no signal about the upstream
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void closeWindowIfDue() {
+        long now = System.nanoTime();
+        if (now - windowStart < MIN_WINDOW_NANOS || windowSamples < MIN_WINDOW_SAMPLES && !windowDropped) {
+            return;
+        }
+        if (windowDropped) {
+            limit = clamp(limit * BACKOFF_RATIO);
+        } else {
+            update((double) windowRttSum / windowSamples, windowMaxInFlight);
+        }
+        windowStart = now;
+        windowRttSum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void update(double shortRtt, int maxInFlight) {
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+            return;
+        }
+        // The baseline follows latency up slowly and down at once, so a spell of queueing can't
+        // become the new normal within a few windows
+        longRtt = shortRtt < longRtt ? shortRtt : longRtt + (shortRtt - longRtt) / LONG_WINDOW;
+
+        // Using less than half the limit says nothing about whether more would be fine
+        if (maxInFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+    }
+
+    private double clamp(double value) {
+        return Math.min(maxLimit, Math.max(minLimit, value));
+    }
+}
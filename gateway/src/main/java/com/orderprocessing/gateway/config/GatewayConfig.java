@@ -1,5 +1,9 @@
 package com.orderprocessing.gateway.config;
 
+import com.orderprocessing.gateway.filter.AdaptiveConcurrencyGatewayFilterFactory;
+import com.orderprocessing.gateway.filter.RequestCoalescingGatewayFilterFactory;
+import com.orderprocessing.gateway.filter.ResponseCacheGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -8,20 +12,37 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class GatewayConfig {
 
+    /** Same route ids as application.yml, so the rate limits and concurrency limits are shared with those routes */
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder,
+                                           ResponseCacheGatewayFilterFactory responseCache,
+                                           RequestCoalescingGatewayFilterFactory requestCoalescing,
+                                           AdaptiveConcurrencyGatewayFilterFactory adaptiveConcurrency) {
+        AdaptiveConcurrencyGatewayFilterFactory.Config orderConcurrency = new AdaptiveConcurrencyGatewayFilterFactory.Config();
+        orderConcurrency.setMaxLimit(500);
+        orderConcurrency.setWriteShare(0.75);
+        GatewayFilter concurrency = adaptiveConcurrency.apply(new AdaptiveConcurrencyGatewayFilterFactory.Config());
+
         return builder.routes()
                 .route("order-service", r -> r
                         .path("/api/orders/**")
+                        .filters(f -> f
+                                .filter(responseCache.apply(new ResponseCacheGatewayFilterFactory.Config()))
+                                .filter(requestCoalescing.apply(new RequestCoalescingGatewayFilterFactory.Config()))
+                                .requestRateLimiter(c -> { })
+                                .filter(adaptiveConcurrency.apply(orderConcurrency)))
                         .uri("http://order-service:8080"))
                 .route("payment-service", r -> r
                         .path("/payments/**")
+                        .filters(f -> f.requestRateLimiter(c -> { }).filter(concurrency))
                         .uri("http://payment-service:8080"))
                 .route("inventory-service", r -> r
                         .path("/inventory/**")
+                        .filters(f -> f.requestRateLimiter(c -> { }).filter(concurrency))
                         .uri("http://inventory-service:8080"))
                 .route("notification-service", r -> r
                         .path("/notifications/**")
+                        .filters(f -> f.requestRateLimiter(c -> { }).filter(concurrency))
                         .uri("http://notification-service:8080"))
                 .build();
     }
@@ -0,0 +1,46 @@
+package com.orderprocessing.gateway.config;
+
+import com.orderprocessing.gateway.ratelimit.LocalRateLimiter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * RequestRateLimiter defaults: in-process buckets keyed by client address. The Redis limiter
+ * auto-configured by spring-cloud-gateway is still there for clustered deployments - point a
+ * route at it with {@code rate-limiter: "#{@redisRateLimiter}"} and {@code redis-rate-limiter.*} args.
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    /** Used for routes without local-rate-limiter.* args */
+    @Bean
+    @ConfigurationProperties("gateway.rate-limiter.defaults")
+    public LocalRateLimiter.Config defaultRateLimiterConfig() {
+        return new LocalRateLimiter.Config();
+    }
+
+    @Bean
+    @Primary
+    public LocalRateLimiter localRateLimiter(ConfigurationService configurationService,
+                                             LocalRateLimiter.Config defaultRateLimiterConfig) {
+        return new LocalRateLimiter(configurationService, defaultRateLimiterConfig);
+    }
+
+    /** The gateway is the edge, so the peer address is the client */
+    @Bean
+    public KeyResolver clientAddressKeyResolver() {
+        return exchange -> {
+            InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+            return Mono.just(remote == null || remote.getAddress() == null
+                    ? "unknown"
+                    : remote.getAddress().getHostAddress());
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.orderprocessing.gateway.filter;
+
+import com.orderprocessing.gateway.concurrency.AdaptiveLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Caps in-flight requests per route with an {@link AdaptiveLimit} and sheds the excess straight
+ * away with 503 + Retry-After, instead of letting it queue until it times out. Reads (GET/HEAD)
+ * may use the whole limit; other methods only {@code writeShare} of it, so under overload order
+ * creation is shed before status reads.
+ *
+ * Routes with the same id share one limit. Metrics per route: gateway.concurrency.limit,
+ * gateway.concurrency.in.flight, gateway.concurrency.rejected{priority}.
+ */
+@Component
+public class AdaptiveConcurrencyGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> READ_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD);
+    private static final Set<HttpStatus> OVERLOAD_STATUSES =
+            Set.of(HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "unknown" : route.getId();
+            AdaptiveLimit limit = limits.computeIfAbsent(routeId, id -> newLimit(id, config));
+
+            boolean read = READ_METHODS.contains(exchange.getRequest().getMethod());
+            if (!limit.tryAcquire(read ? 1.0 : config.getWriteShare())) {
+                rejected(routeId, read).increment();
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                response.getHeaders().set("Retry-After", "1");
+                return response.setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (signal == SignalType.CANCEL) {
+                    limit.onIgnored();
+                } else if (signal == SignalType.ON_ERROR
+                        || status != null && OVERLOAD_STATUSES.contains(HttpStatus.resolve(status.value()))) {
+                    limit.onDropped();
+                } else {
+                    limit.onSuccess(System.nanoTime() - start);
+                }
+            });
+        };
+    }
+
+    private AdaptiveLimit newLimit(String routeId, Config config) {
+        AdaptiveLimit limit = new AdaptiveLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit());
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveLimit::getLimit)
+                .description("Requests the route may have in flight")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.in.flight", limit, AdaptiveLimit::getInFlight)
+                .description("Requests in flight on the route")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limit;
+    }
+
+    private Counter rejected(String routeId, boolean read) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Requests shed with 503 because the route was at its concurrency limit")
+                .tag("route", routeId)
+                .tag("priority", read ? "read" : "write")
+                .register(meterRegistry);
+    }
+
+    @Data
+    public static class Config {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 1000;
+        /** Part of the limit non-read requests may use; 1.0 = no priority for reads */
+        private double writeShare = 1.0;
+    }
+}
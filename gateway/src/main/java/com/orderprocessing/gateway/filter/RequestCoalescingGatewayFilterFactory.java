@@ -0,0 +1,205 @@
+package com.orderprocessing.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Single-flight for identical concurrent GETs: the first request for a key goes upstream, requests
+ * for the same key arriving while it is in flight get a copy of its response. Keyed by path, query
+ * and the configured request headers - anything that changes the response must be one of them.
+ *
+ * Streaming responses (NDJSON, SSE) aren't buffered; waiting requests then make their own call,
+ * as they do when the leading call fails or its client goes away.
+ *
+ * gateway.coalescing.requests{route, result}: leader = went upstream, shared = served from a
+ * leader's response (an upstream call saved), fallback = waited, then went upstream itself.
+ *
+ * <pre>
+ * filters:
+ *   - RequestCoalescing=Accept,Authorization,If-None-Match
+ * </pre>
+ */
+@Component
+public class RequestCoalescingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    public static final String COALESCED_HEADER = "X-Gateway-Coalesced";
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("headers");
+    }
+
+    @Override
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+        // Ahead of NettyWriteResponseFilter so the decorated response is the one written to
+        return new OrderedGatewayFilter((exchange, chain) -> filter(config, inFlight, exchange, chain),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(Config config, Map<String, CompletableFuture<SharedResponse>> inFlight,
+                              ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String key = key(config, request);
+        CompletableFuture<SharedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            // suppressCancel: a waiting client going away must not cancel the result for the others
+            return Mono.fromFuture(leader, true)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(shared -> {
+                        if (shared.isEmpty()) {
+                            counter(exchange, "fallback").increment();
+                            return chain.filter(exchange);
+                        }
+                        counter(exchange, "shared").increment();
+                        return write(shared.get(), exchange.getResponse());
+                    });
+        }
+
+        counter(exchange, "leader").increment();
+        Runnable release = () -> {
+            inFlight.remove(key, mine);
+            mine.complete(null);  // no shareable response - waiting requests go upstream themselves
+        };
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), mine, release)).build())
+                .doFinally(signal -> release.run());
+    }
+
+    private static String key(Config config, ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        for (String header : config.getHeaders()) {
+            key.append('\n').append(header).append(": ").append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+
+    private static Mono<Void> write(SharedResponse shared, ServerHttpResponse response) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().set(COALESCED_HEADER, "true");
+        if (shared.body().length == 0) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private Counter counter(ServerWebExchange exchange, String result) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return Counter.builder("gateway.coalescing.requests")
+                .description("GET requests through the coalescing filter, by who made the upstream call")
+                .tag("route", route == null ? "unknown" : route.getId())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands the leader's response to the waiting requests as it is written to the leader's client.
+     */
+    private static class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final CompletableFuture<SharedResponse> result;
+        private final Runnable release;
+
+        SharingResponse(ServerHttpResponse delegate, CompletableFuture<SharedResponse> result, Runnable release) {
+            super(delegate);
+            this.result = result;
+            this.release = release;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+                release.run();
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                share(bytes);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            share(new byte[0]);
+            return super.setComplete();
+        }
+
+        private void share(byte[] body) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getHeaders());
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            headers.remove(HttpHeaders.TRANSFER_ENCODING);
+            HttpStatusCode status = getStatusCode();
+            result.complete(new SharedResponse(status == null ? HttpStatus.OK : status, headers, body));
+            release.run();
+        }
+    }
+
+    @Data
+    public static class Config {
+        /** Request headers that are part of the key, i.e. that can change the response */
+        private List<String> headers = List.of(HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION, HttpHeaders.IF_NONE_MATCH);
+    }
+}
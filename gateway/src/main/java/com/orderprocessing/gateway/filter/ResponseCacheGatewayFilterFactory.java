@@ -0,0 +1,188 @@
+package com.orderprocessing.gateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Short-lived cache of GET responses that carry an ETag, e.g. order status polls.
+ * Hits are answered by the gateway - 304 without a body when If-None-Match matches, the cached
+ * body otherwise. Responses without an ETag (lists, exports) pass through untouched and unbuffered.
+ *
+ * Entries are keyed by path, query and Accept. If-None-Match is answered against the cached ETag.
+ * Requests with Authorization or Cache-Control: no-store bypass the cache. Cache-Control: no-cache
+ * (or Pragma: no-cache) skips the lookup and stores the fresh response. Upstream responses marked
+ * no-store or private, or that vary on anything but Accept, are not stored.
+ *
+ * <pre>
+ * filters:
+ *   - ResponseCache=2s,16MB   # time to live, memory bound for cached bodies
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Gateway-Cache";
+
+    // Key, ETag and content type on top of the body
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private record CachedResponse(String etag, MediaType contentType, byte[] body) {}
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive", "size");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(config.getSize().toBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length + ENTRY_OVERHEAD)
+                .expireAfterWrite(config.getTimeToLive())
+                .build();
+
+        // Ahead of NettyWriteResponseFilter so the decorated response is the one written to
+        return new OrderedGatewayFilter((exchange, chain) -> filter(cache, exchange, chain),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> filter(Cache<String, CachedResponse> cache, ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        HttpHeaders headers = request.getHeaders();
+        // A shared cache must not hand one caller's authorized response to another
+        if (headers.containsKey(HttpHeaders.AUTHORIZATION) || hasDirective(headers, "no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String query = request.getURI().getRawQuery();
+        String key = request.getPath().value() + (query == null ? "" : "?" + query)
+                + "\n" + headers.getOrEmpty(HttpHeaders.ACCEPT);
+        CachedResponse cached = hasDirective(headers, "no-cache") ? null : cache.getIfPresent(key);
+        if (cached != null) {
+            return serve(cached, exchange);
+        }
+        return chain.filter(exchange.mutate()
+                .response(new CachingResponse(exchange.getResponse(), key, cache))
+                .build());
+    }
+
+    private Mono<Void> serve(CachedResponse cached, ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(cached.contentType());
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean hasDirective(HttpHeaders headers, String directive) {
+        for (String value : headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)) {
+            for (String part : value.split(",")) {
+                String name = part.trim();
+                int equals = name.indexOf('=');
+                if ((equals < 0 ? name : name.substring(0, equals)).equalsIgnoreCase(directive)) {
+                    return true;
+                }
+            }
+        }
+        // HTTP/1.0 clients ask for a fresh response with Pragma
+        return "no-cache".equals(directive) && headers.getOrEmpty(HttpHeaders.PRAGMA).contains("no-cache");
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /**
+     * Copies a cacheable upstream body into the cache on its way to the client.
+     */
+    private static class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Cache<String, CachedResponse> cache;
+
+        CachingResponse(ServerHttpResponse delegate, String key, Cache<String, CachedResponse> cache) {
+            super(delegate);
+            this.key = key;
+            this.cache = cache;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            String etag = headers.getETag();
+            if (getStatusCode() == null || getStatusCode().value() != HttpStatus.OK.value() || etag == null
+                    || hasDirective(headers, "no-store") || hasDirective(headers, "private")
+                    || !headers.getVary().stream().allMatch(HttpHeaders.ACCEPT::equalsIgnoreCase)) {
+                return super.writeWith(body);
+            }
+
+            headers.set(CACHE_HEADER, "MISS");
+            return DataBufferUtils.join(body).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+                cache.put(key, new CachedResponse(etag, headers.getContentType(), bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    @Data
+    public static class Config {
+        /** How stale a cached response may be; an order state change shows up after at most this long */
+        private Duration timeToLive = Duration.ofSeconds(2);
+        /** Memory bound for cached bodies, per route */
+        private DataSize size = DataSize.ofMegabytes(16);
+    }
+}
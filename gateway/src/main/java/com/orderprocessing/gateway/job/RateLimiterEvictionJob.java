@@ -0,0 +1,27 @@
+package com.orderprocessing.gateway.job;
+
+import com.orderprocessing.gateway.ratelimit.LocalRateLimiter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the rate limiter's bucket map bounded by the clients seen recently, not all clients ever.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimiterEvictionJob {
+
+    private final LocalRateLimiter rateLimiter;
+
+    @Scheduled(fixedDelayString = "${gateway.rate-limiter.eviction-interval-ms:60000}",
+            initialDelayString = "${gateway.rate-limiter.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = rateLimiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("🧹 Evicted {} idle rate limit buckets, {} active", evicted, rateLimiter.size());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.orderprocessing.gateway.ratelimit;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets per route and client key, used by the RequestRateLimiter filter
+ * instead of the Redis limiter - no network hop per request.
+ *
+ * Each bucket is a single theoretical arrival time (GCRA) advanced with CAS, which behaves
+ * exactly like a token bucket refilled at replenishRate up to burstCapacity. Route settings
+ * are bound from {@code local-rate-limiter.*} filter args, the same names the Redis limiter uses.
+ */
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    private static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    private static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    private static final String RETRY_AFTER_HEADER = "Retry-After";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final Config defaultConfig;
+
+    public LocalRateLimiter(ConfigurationService configurationService, Config defaultConfig) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        int replenishRate = Math.max(1, config.getReplenishRate());
+        int burstCapacity = Math.max(1, config.getBurstCapacity());
+        int requestedTokens = Math.max(1, config.getRequestedTokens());
+
+        long interval = NANOS_PER_SECOND / replenishRate;  // time to earn one token
+        long capacity = interval * burstCapacity;                    // a full bucket, in time
+        long cost = interval * requestedTokens;
+
+        long now = System.nanoTime();
+        AtomicLong bucket = buckets.computeIfAbsent(routeId + ":" + id, key -> new AtomicLong(now));
+        while (true) {
+            long tat = bucket.get();
+            long next = (tat - now < 0 ? now : tat) + cost;
+            long debt = next - now;
+
+            if (debt > capacity) {
+                long retryAfterSeconds = (debt - capacity + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+                Map<String, String> headers = headers(config, 0);
+                headers.put(RETRY_AFTER_HEADER, String.valueOf(retryAfterSeconds));
+                return Mono.just(new Response(false, headers));
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return Mono.just(new Response(true, headers(config, (capacity - debt) / interval)));
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely - they are indistinguishable from a new one.
+     * A request racing the removal spends from the dropped bucket, so at most one extra request
+     * per client slips through per eviction.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private Map<String, String> headers(Config config, long remaining) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REMAINING_HEADER, String.valueOf(remaining));
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+        return headers;
+    }
+
+    @Data
+    public static class Config {
+        /** Tokens added per second */
+        private int replenishRate = 10;
+        /** Bucket size, the largest burst let through at once */
+        private int burstCapacity = 20;
+        /** Tokens one request costs */
+        private int requestedTokens = 1;
+    }
+}
@@ -1,17 +1,41 @@
 package com.orderprocessing.inventoryservice;
 
+import com.orderprocessing.inventoryservice.ledger.StockLedgerService;
+import com.orderprocessing.inventoryservice.ledger.StockLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/inventory")
+@RequiredArgsConstructor
 public class InventoryController {
 
+    private final StockLedgerService stockLedgerService;
+
     @PostMapping("/check")
     public InventoryResponse checkInventory(@RequestBody InventoryRequest request) {
         System.out.println("Checking inventory for product: " + request.getProductId() +
                 ", quantity: " + request.getQuantity());
 
-        // Simulate: always available for now
-        return new InventoryResponse(true, "Items in stock");
+        StockLevel level = stockLedgerService.level(request.getProductId());
+        boolean available = level.available() >= request.getQuantity();
+        return new InventoryResponse(available, available ? "Items in stock" : "Only " + level.available() + " in stock");
+    }
+
+    @PostMapping("/restock")
+    public StockLevel restock(@RequestBody InventoryRequest request) {
+        // A negative restock would drive available stock below zero behind the ledger's back
+        if (request.getProductId() == null || request.getQuantity() == null || request.getQuantity() <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Restock needs a productId and a positive quantity");
+        }
+        stockLedgerService.restock(request.getProductId(), request.getQuantity());
+        return stockLedgerService.level(request.getProductId());
+    }
+
+    @GetMapping("/{sku}")
+    public StockLevel getStockLevel(@PathVariable String sku) {
+        return stockLedgerService.level(sku);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,38 @@
+package com.orderprocessing.inventoryservice.codec;
+
+import com.orderprocessing.common.codec.EventWire;
+import com.orderprocessing.inventoryservice.events.InventoryReservedEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka Serializer for the events inventory-service produces, in the EventWire binary layout.
+ * Selected per topic through DelegatingByTopicSerializer (see application.properties).
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    // One reusable encode buffer per producer thread - the only allocation per record is the result
+    private static final ThreadLocal<EventWire.Writer> WRITERS = ThreadLocal.withInitial(EventWire.Writer::new);
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        EventWire.Writer out = WRITERS.get();
+
+        if (data instanceof InventoryReservedEvent event) {
+            out.begin(EventWire.INVENTORY_RESERVED);
+            out.writeString(event.getCorrelationId());
+            out.writeString(event.getEventId());
+            out.writeNullableLong(event.getOrderId());
+            out.writeBoolean(event.isReserved());
+            out.writeTimestamp(event.getTimestamp());
+            out.writeNullableLong(event.getOriginTimestamp());
+            out.writeNullableLong(event.getPublishedAt());
+        } else {
+            throw new SerializationException("No binary encoding for " + data.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+}
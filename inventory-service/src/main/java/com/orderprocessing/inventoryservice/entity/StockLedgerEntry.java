@@ -0,0 +1,27 @@
+package com.orderprocessing.inventoryservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only stock change log. Rows are folded into stock_snapshot and deleted by StockSnapshotJob.
+ * Written with JDBC (StockJournal), the entity only defines the schema.
+ */
+@Entity
+@Table(name = "stock_ledger_log")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long orderId;  // null for restocks
+    private String sku;
+    private long availableDelta;
+    private long reservedDelta;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,26 @@
+package com.orderprocessing.inventoryservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Open reservation lines as of the last snapshot.
+ */
+@Entity
+@Table(name = "stock_reservation",
+        indexes = @Index(name = "idx_stock_reservation_order_sku", columnList = "order_id, sku", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+    @Column(name = "sku", nullable = false)
+    private String sku;
+    private long quantity;
+}
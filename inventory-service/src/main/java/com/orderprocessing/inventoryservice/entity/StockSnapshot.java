@@ -0,0 +1,20 @@
+package com.orderprocessing.inventoryservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_snapshot")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+    @Id
+    private String sku;
+    private long available;
+    private long reserved;
+    private LocalDateTime updatedAt;
+}
@@ -1,79 +1,141 @@
 package com.orderprocessing.inventoryservice.events;
 
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
 import com.orderprocessing.inventoryservice.entity.ProcessedEvent;
-import com.orderprocessing.inventoryservice.repository.ProcessedEventRepository;
+import com.orderprocessing.inventoryservice.idempotency.EventDeduplicator;
+import com.orderprocessing.inventoryservice.ledger.StockLedgerService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class EventListener {
 
+    private static final SagaLogger log = SagaLogger.of(EventListener.class);
+
     private final EventPublisher eventPublisher;
 
     @Autowired
-    private ProcessedEventRepository processedEventRepository;
+    private EventDeduplicator eventDeduplicator;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SagaMetrics sagaMetrics;
 
     @KafkaListener(topics = "order-created",
             groupId = "inventory-service",
-            containerFactory = "kafkaListenerContainerFactory",
+            containerFactory = "batchKafkaListenerContainerFactory",
             properties = {
-                    "spring.json.value.default.type=com.orderprocessing.inventoryservice.events.OrderCreatedEvent"
+                    "spring.json.value.default.type=com.orderprocessing.inventoryservice.events.OrderCreatedEvent",
+                    "max.poll.records=${inventory.order-created.max-poll-records:500}"
             })
-    @Transactional  // Important: ensures atomicity
-    public void handleOrderCreated(@Payload OrderCreatedEvent event,
-                                   @Header(KafkaHeaders.RECEIVED_PARTITION) int partition)
+    @Transactional  // Important: one transaction per poll, offsets are committed only after it succeeds
+    public void handleOrderCreated(List<ConsumerRecord<String, OrderCreatedEvent>> records)
     {
-        String correlationId = event.getCorrelationId();
-        String eventId = event.getEventId();
-        Long orderId = event.getOrderId();
+        long receivedAt = System.nanoTime();
+        log.info(LogCategory.RECEIVE, "📥 Received batch of {} OrderCreatedEvents", records.size());
+
+        // Step 1: Drop unreadable records and duplicates inside the poll itself
+        Map<String, OrderCreatedEvent> events = new LinkedHashMap<>();
+        for (ConsumerRecord<String, OrderCreatedEvent> record : records) {
+            OrderCreatedEvent event = record.value();
+            if (event == null) {
+                log.error(LogCategory.RECEIVE, "❌ Skipping unreadable record {}-{}@{}",
+                        record.topic(), record.partition(), record.offset());
+                continue;
+            }
+            sagaMetrics.recordQueueWait("order-created", event.getPublishedAt());
+            if (events.putIfAbsent(event.getEventId(), event) != null) {
+                try (SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId())) {
+                    log.warn(LogCategory.RECEIVE, "🔁 Duplicate detected in batch: {}. Skipping.", event.getEventId());
+                }
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
 
-        log.info("[{}] 📥 Received OrderCreatedEvent from partition {}: {}", correlationId, partition, orderId);
+        // Step 2: Check the whole poll at once - the dedupe filter keeps most ids away from the database
+        Set<String> alreadyProcessed = eventDeduplicator.findProcessed(events.keySet());
 
-        // Step 1: Check if already processed
-        if (processedEventRepository.existsById(eventId)) {
-            log.warn("[{}] 🔁 Duplicate detected: {}. Skipping.", correlationId, eventId);
-            return;  // ← EXIT EARLY, don't process again
+        List<ProcessedEvent> claims = new ArrayList<>(events.size());
+        for (OrderCreatedEvent event : events.values()) {
+            if (alreadyProcessed.contains(event.getEventId())) {
+                try (SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId())) {
+                    log.warn(LogCategory.RECEIVE, "🔁 Duplicate detected: {}. Skipping.", event.getEventId());
+                }
+                continue;
+            }
+            claims.add(newProcessedEvent(event.getOrderId(), event.getEventId(), "OrderCreatedEvent"));
         }
 
-        try {
-            // Simulate inventory reservation logic
-            boolean reserved = reserveInventory(correlationId, orderId);
+        // Step 3: Mark all new events as processed in one JDBC batch
+        Set<String> claimed = new HashSet<>();
+        for (ProcessedEvent processed : eventDeduplicator.claim(claims)) {
+            claimed.add(processed.getEventId());
+        }
 
-            if (reserved) {
-                log.info("[{}] ✅ Inventory reserved for order: {}", correlationId, orderId);
-            } else {
-                log.warn("[{}] ❌ Inventory reservation failed for order: {}", correlationId, orderId);
+        try {
+            List<InventoryReservedEvent> reservedEvents = new ArrayList<>(claimed.size());
+            for (OrderCreatedEvent event : events.values()) {
+                if (!claimed.contains(event.getEventId())) {
+                    continue;  // Duplicate, or claimed by another consumer in the meantime
+                }
+                String correlationId = event.getCorrelationId();
+                Long orderId = event.getOrderId();
+
+                boolean reserved;
+                try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+                    reserved = reserveInventory(orderId, event.getItems());
+
+                    if (reserved) {
+                        log.info(LogCategory.PROCESS, "✅ Inventory reserved for order: {}", orderId);
+                    } else {
+                        log.warn(LogCategory.PROCESS, "❌ Inventory reservation failed for order: {}", orderId);
+                    }
+                }
+
+                reservedEvents.add(new InventoryReservedEvent(
+                        correlationId,
+                        UUID.randomUUID().toString(),
+                        orderId,
+                        reserved,
+                        LocalDateTime.now().toString(),
+                        event.getOriginTimestamp(),
+                        null
+                ));
             }
 
-            saveProcessedEvent(correlationId, orderId, eventId, "OrderCreatedEvent");
-
-            // Publish InventoryReserved event
-            InventoryReservedEvent reservedEvent = new InventoryReservedEvent(
-                    correlationId,
-                    UUID.randomUUID().toString(),
-                    event.getOrderId(),
-                    reserved,
-                    LocalDateTime.now().toString()
-            );
-            eventPublisher.publishInventoryReserved(reservedEvent);
+            // Step 4: Publish InventoryReserved events together
+            eventPublisher.publishInventoryReserved(reservedEvents);
+            for (int i = 0; i < reservedEvents.size(); i++) {
+                sagaMetrics.recordProcessing("order-created", receivedAt);  // Each event waits for its whole batch
+            }
+            log.info(LogCategory.PROCESS, "✅ Processed {} of {} OrderCreatedEvents in batch",
+                    reservedEvents.size(), records.size());
         }
         catch (Exception e)
         {
-            log.error("[{}] ❌ Error processing OrderCreatedEvent for order {}: {}",
-                    correlationId, orderId, e.getMessage());
-            throw e; // Don't mark as processed on failure - allow retry
+            log.error(LogCategory.PROCESS, "❌ Error processing OrderCreatedEvent batch of {}: {}",
+                    records.size(), e.getMessage());
+            throw e; // Roll back the whole batch - nothing is marked as processed, the poll is redelivered
         }
     }
 
@@ -86,54 +148,98 @@ public class EventListener {
     @Transactional
     public void handlePaymentFailed(PaymentFailedEvent event)
     {
-        String correlationId = event.getCorrelationId();
         String eventId = event.getEventId();
         Long orderId = event.getOrderId();
 
-        log.info("[{}] 📥 Received PaymentFailedEvent: {}", correlationId, orderId);
-        log.warn("[{}] 💥 COMPENSATION: Releasing inventory for order: {}", correlationId, orderId);
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-failed", event.getPublishedAt());
+        SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId());
+        log.info(LogCategory.RECEIVE, "📥 Received PaymentFailedEvent: {}", orderId);
+        log.warn(LogCategory.PROCESS, "💥 COMPENSATION: Releasing inventory for order: {}", orderId);
 
 
-        if (processedEventRepository.existsById(eventId))
-        {
-            log.warn("[{}] 🔁 Duplicate PaymentFailedEvent detected: {}. Skipping.", correlationId, eventId);
-            return;
-        }
         try {
+            if (eventDeduplicator.isProcessed(eventId))
+            {
+                log.warn(LogCategory.RECEIVE, "🔁 Duplicate PaymentFailedEvent detected: {}. Skipping.", eventId);
+                return;
+            }
+            // Mark as processed - same transaction as the release, so both or neither happen
+            if (!saveProcessedEvent(orderId, eventId, "PaymentFailedEvent")) {
+                log.warn(LogCategory.RECEIVE, "🔁 PaymentFailedEvent {} already claimed by another consumer. Skipping.", eventId);
+                return;
+            }
             // Release the reserved inventory (compensation logic!)
-            releaseInventory(correlationId, orderId);
-            // Mark as processed
-            saveProcessedEvent(correlationId, orderId, eventId, "PaymentFailedEvent");
+            releaseInventory(orderId);
 
-            log.info("[{}] ✅ Inventory released for order: {}", correlationId, orderId);
+            log.info(LogCategory.PROCESS, "✅ Inventory released for order: {}", orderId);
+            sagaMetrics.recordProcessing("payment-failed", receivedAt);
         }
         catch (Exception e) {
-            log.error("[{}] ❌ Error releasing inventory for order {}: {}",
-                    correlationId, orderId, e.getMessage());
+            log.error(LogCategory.PROCESS, "❌ Error releasing inventory for order {}: {}", orderId, e.getMessage());
             throw e;
         }
+        finally {
+            scope.close();
+        }
+    }
+
+    /**
+     * The order is paid, so the stock it holds is consumed. PaymentSuccessEvent carries no eventId
+     * to dedupe on, and none is needed: settling removes the reservation, so a redelivery finds
+     * nothing to settle.
+     */
+    @KafkaListener(topics = "payment-success",
+            groupId = "inventory-service",
+            containerFactory = "kafkaListenerContainerFactory",
+            properties = {
+                    "spring.json.value.default.type=com.orderprocessing.inventoryservice.events.PaymentSuccessEvent"
+            })
+    @Transactional
+    public void handlePaymentSuccess(PaymentSuccessEvent event)
+    {
+        Long orderId = event.getOrderId();
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-success", event.getPublishedAt());
+        try (SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId())) {
+            log.info(LogCategory.RECEIVE, "📥 Received PaymentSuccessEvent: {}", orderId);
+            if (stockLedgerService.settle(orderId)) {
+                log.info(LogCategory.PROCESS, "📦 Reserved inventory settled for order: {}", orderId);
+            } else {
+                log.warn(LogCategory.RECEIVE, "🔁 No reservation left to settle for order {}. Skipping.", orderId);
+            }
+            sagaMetrics.recordProcessing("payment-success", receivedAt);
+        }
     }
 
-    private boolean reserveInventory(String correlationId, Long orderId) {
-        // Simulate inventory check - always succeed for now
-        log.info("[{}] 🔒 Reserving inventory for order: {}", correlationId, orderId);
-        return true;
+    private boolean reserveInventory(Long orderId, List<OrderLine> items) {
+        log.info(LogCategory.PROCESS, "🔒 Reserving inventory for order: {}", orderId);
+        return stockLedgerService.reserve(orderId, items);
     }
 
-    private void releaseInventory(String correlationId, Long orderId) {
-        // Simulate inventory release - compensation action
-        log.info("[{}] 🔓 Releasing inventory for order: {}", correlationId, orderId);
+    private void releaseInventory(Long orderId) {
+        // Compensation action - O(1) lookup of the order's reservation
+        log.info(LogCategory.PROCESS, "🔓 Releasing inventory for order: {}", orderId);
+        if (!stockLedgerService.release(orderId)) {
+            log.warn(LogCategory.PROCESS, "⚠️ No reservation held for order: {}", orderId);
+        }
+    }
+
+    private boolean saveProcessedEvent(Long orderId, String eventId, String eventType) {
+        boolean claimed = !eventDeduplicator.claim(List.of(newProcessedEvent(orderId, eventId, eventType))).isEmpty();
+        if (claimed) {
+            log.info(LogCategory.PROCESS, "✅ Marked order {} event {} as processed", orderId, eventId);
+        }
+        return claimed;
     }
 
-    private void saveProcessedEvent(String correlationId, Long orderId, String eventId, String eventType) {
-        ProcessedEvent processed = new ProcessedEvent(
+    private ProcessedEvent newProcessedEvent(Long orderId, String eventId, String eventType) {
+        return new ProcessedEvent(
                 eventId,
                 orderId,
                 eventType,
                 LocalDateTime.now(),
                 "inventory-service"
         );
-        processedEventRepository.save(processed);
-        log.info("[{}] ✅ Marked order {} event {} as processed", correlationId, orderId, eventId);
     }
 }
\ No newline at end of file
@@ -1,23 +1,56 @@
 package com.orderprocessing.inventoryservice.events;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.common.publish.PublishPipeline;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final SagaLogger log = SagaLogger.of(EventPublisher.class);
+
+    private final PublishPipeline publishPipeline;
 
-    public void publishInventoryReserved(InventoryReservedEvent event)
+    @Value("${inventory.publish.ack-timeout-ms:10000}")
+    private long ackTimeoutMs;
+
+    /**
+     * Publish a whole batch and wait for the broker to acknowledge it,
+     * so the caller's transaction (and offset commit) only succeeds once every event is out.
+     */
+    public void publishInventoryReserved(List<InventoryReservedEvent> events)
     {
-        String key = event.getOrderId().toString();
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (InventoryReservedEvent event : events) {
+            String key = event.getOrderId().toString();
+            event.setPublishedAt(SagaMetrics.now());
+
+            try (SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId())) {
+                log.info(LogCategory.PUBLISH, "📦 Publishing InventoryReservedEvent with key {}", key);
+            }
 
-        log.info("📦 Publishing InventoryReservedEvent with key {}: {}", key, event);
+            sends.add(publishPipeline.send("inventory-reserved", key, event, event.getCorrelationId()));
+        }
+        publishPipeline.flush();
 
-        kafkaTemplate.send("inventory-reserved", key, event);
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing InventoryReservedEvents", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to publish " + events.size() + " InventoryReservedEvents", e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -15,4 +17,10 @@ public class OrderCreatedEvent
     private String customerName;
     private Double totalAmount;
     private String timestamp;
+    // Optional - orders without lines reserve one unit of the default SKU
+    private List<OrderLine> items;
+
+    // Saga timing, epoch millis (wall clock - the only clock comparable across services)
+    private Long originTimestamp;  // Order accepted by order-service, carried through every hop
+    private Long publishedAt;      // This event queued for Kafka by its producer
 }
@@ -0,0 +1,14 @@
+package com.orderprocessing.inventoryservice.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderLine
+{
+    private String sku;
+    private Integer quantity;
+}
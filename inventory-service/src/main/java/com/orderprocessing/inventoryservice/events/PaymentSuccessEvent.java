@@ -0,0 +1,20 @@
+package com.orderprocessing.inventoryservice.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentSuccessEvent
+{
+    private String correlationId;
+    private Long orderId;
+    private Double amount;
+    private String timestamp;
+
+    // Saga timing, epoch millis (wall clock - the only clock comparable across services)
+    private Long originTimestamp;  // Order accepted by order-service, carried through every hop
+    private Long publishedAt;      // This event queued for Kafka by its producer
+}
@@ -0,0 +1,188 @@
+package com.orderprocessing.inventoryservice.idempotency;
+
+import com.orderprocessing.inventoryservice.entity.ProcessedEvent;
+import com.orderprocessing.inventoryservice.repository.ProcessedEventBatchRepository;
+import com.orderprocessing.inventoryservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Owns all processed_events lookups.
+ *
+ * Answers "was this event processed?" from memory where it can:
+ *  - recent LRU hit          -> duplicate, no database call
+ *  - Bloom filter says never -> new event, no database call
+ *  - otherwise               -> database lookup (a positive is a real duplicate or a false positive)
+ *
+ * The filter only knows what this instance wrote (plus the startup rebuild), so claims still go
+ * through INSERT ... ON CONFLICT DO NOTHING - that stays the source of truth across instances.
+ */
+@Service
+@DependsOn("entityManagerFactory")  // processed_events is created by Hibernate
+@Slf4j
+public class EventDeduplicator {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final ProcessedEventBatchRepository processedEventBatchRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TimePartitionedBloomFilter filter;
+    private final RecentEventIds recent;
+    private final int retentionDays;
+
+    private final Counter recentHits;
+    private final Counter filterMisses;
+    private final Counter databaseHits;
+    private final Counter falsePositives;
+
+    public EventDeduplicator(ProcessedEventRepository processedEventRepository,
+                             ProcessedEventBatchRepository processedEventBatchRepository,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${processed-events.retention-days:30}") int retentionDays,
+                             @Value("${inventory.dedupe.expected-events-per-day:100000}") long expectedPerDay,
+                             @Value("${inventory.dedupe.false-positive-rate:0.01}") double falsePositiveRate,
+                             @Value("${inventory.dedupe.recent-capacity:10000}") int recentCapacity) {
+        this.processedEventRepository = processedEventRepository;
+        this.processedEventBatchRepository = processedEventBatchRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+        this.filter = new TimePartitionedBloomFilter(retentionDays, expectedPerDay, falsePositiveRate);
+        this.recent = new RecentEventIds(recentCapacity);
+
+        this.recentHits = lookupCounter(meterRegistry, "recent_hit");
+        this.filterMisses = lookupCounter(meterRegistry, "filter_miss");
+        this.databaseHits = lookupCounter(meterRegistry, "database_hit");
+        this.falsePositives = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    /**
+     * Rebuild the filter from processed_events before any listener starts.
+     */
+    @PostConstruct
+    void rebuild() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        long[] loaded = {0};
+
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT event_id, processed_at FROM processed_events WHERE processed_at >= ?");
+            ps.setFetchSize(10_000);
+            ps.setTimestamp(1, Timestamp.valueOf(cutoff));
+            return ps;
+        }, rs -> {
+            filter.put(rs.getString(1), rs.getTimestamp(2).toLocalDateTime().toLocalDate());
+            loaded[0]++;
+        });
+
+        log.info("🧮 Dedupe filter rebuilt from {} processed events (last {} days)", loaded[0], retentionDays);
+    }
+
+    public boolean isProcessed(String eventId) {
+        if (recent.contains(eventId)) {
+            recentHits.increment();
+            return true;
+        }
+        if (!filter.mightContain(eventId)) {
+            filterMisses.increment();
+            return false;
+        }
+        boolean exists = processedEventRepository.existsById(eventId);
+        recordDatabaseResult(eventId, exists);
+        return exists;
+    }
+
+    /**
+     * Batch variant - ids the filter rules out never reach the IN (...) query.
+     */
+    public Set<String> findProcessed(Collection<String> eventIds) {
+        Set<String> processed = new HashSet<>();
+        List<String> candidates = new ArrayList<>();
+        for (String eventId : eventIds) {
+            if (recent.contains(eventId)) {
+                recentHits.increment();
+                processed.add(eventId);
+            } else if (filter.mightContain(eventId)) {
+                candidates.add(eventId);
+            } else {
+                filterMisses.increment();
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            Set<String> existing = processedEventRepository.findExistingEventIds(candidates);
+            for (String eventId : candidates) {
+                recordDatabaseResult(eventId, existing.contains(eventId));
+            }
+            processed.addAll(existing);
+        }
+        return processed;
+    }
+
+    /**
+     * Insert processed_events rows in the current transaction.
+     * @return the events this consumer claimed - anything else was processed concurrently elsewhere
+     */
+    public List<ProcessedEvent> claim(List<ProcessedEvent> events) {
+        List<ProcessedEvent> claimed = processedEventBatchRepository.insertAll(events);
+        for (ProcessedEvent event : claimed) {
+            // A rollback only leaves a harmless false positive behind in the filter...
+            filter.put(event.getEventId(), event.getProcessedAt().toLocalDate());
+        }
+        // ...but the LRU answers without the database, so it may only learn committed ids
+        afterCommit(() -> claimed.forEach(event -> recent.add(event.getEventId())));
+        return claimed;
+    }
+
+    /**
+     * Called by ProcessedEventCleanup once rows before the cutoff are gone.
+     */
+    public void expireBefore(LocalDateTime cutoff) {
+        filter.expireBefore(cutoff.toLocalDate());
+        log.info("🧮 Dedupe filter rotated, days before {} dropped", cutoff.toLocalDate());
+    }
+
+    private void recordDatabaseResult(String eventId, boolean exists) {
+        if (exists) {
+            databaseHits.increment();
+            recent.add(eventId);
+        } else {
+            falsePositives.increment();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("inventory.dedupe.lookups")
+                .description("Processed-event lookups by how they were answered")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
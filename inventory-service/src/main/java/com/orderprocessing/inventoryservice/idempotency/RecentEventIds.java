@@ -0,0 +1,30 @@
+package com.orderprocessing.inventoryservice.idempotency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of event ids known to be processed.
+ * Catches the common case of a redelivery shortly after the original without a database call.
+ */
+class RecentEventIds {
+
+    private final Map<String, Boolean> ids;
+
+    RecentEventIds(int capacity) {
+        this.ids = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized boolean contains(String eventId) {
+        return ids.get(eventId) != null;
+    }
+
+    synchronized void add(String eventId) {
+        ids.put(eventId, Boolean.TRUE);
+    }
+}
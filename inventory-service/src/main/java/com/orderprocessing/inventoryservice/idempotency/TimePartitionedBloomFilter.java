@@ -0,0 +1,72 @@
+package com.orderprocessing.inventoryservice.idempotency;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One Bloom filter per day of the retention window.
+ * Expired days are dropped whole, so the filter never fills up with ids
+ * that ProcessedEventCleanup already removed from the database.
+ */
+class TimePartitionedBloomFilter {
+
+    private record Partition(long epochDay, BloomFilter filter) {}
+
+    private final AtomicReferenceArray<Partition> partitions;
+    private final long expectedPerDay;
+    private final double falsePositiveRate;
+    private volatile long oldestLiveDay;
+
+    TimePartitionedBloomFilter(int retentionDays, long expectedPerDay, double falsePositiveRate) {
+        this.partitions = new AtomicReferenceArray<>(retentionDays + 1);  // Window plus today
+        this.expectedPerDay = expectedPerDay;
+        this.falsePositiveRate = falsePositiveRate;
+        this.oldestLiveDay = LocalDate.now().toEpochDay() - retentionDays;
+    }
+
+    void put(String eventId, LocalDate day) {
+        long epochDay = day.toEpochDay();
+        if (epochDay < oldestLiveDay) {
+            return;  // Already outside the retention window
+        }
+        int slot = (int) Math.floorMod(epochDay, (long) partitions.length());
+        Partition partition = partitions.get(slot);
+        while (partition == null || partition.epochDay() < epochDay) {
+            // Slot still holds a day that fell out of the window - recycle it
+            Partition fresh = new Partition(epochDay, new BloomFilter(expectedPerDay, falsePositiveRate));
+            if (partitions.compareAndSet(slot, partition, fresh)) {
+                partition = fresh;
+            } else {
+                partition = partitions.get(slot);
+            }
+        }
+        if (partition.epochDay() == epochDay) {
+            partition.filter().put(eventId);
+        }
+    }
+
+    boolean mightContain(String eventId) {
+        long oldest = oldestLiveDay;
+        for (int i = 0; i < partitions.length(); i++) {
+            Partition partition = partitions.get(i);
+            if (partition != null && partition.epochDay() >= oldest && partition.filter().mightContain(eventId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop every day before the cutoff.
+     */
+    void expireBefore(LocalDate cutoff) {
+        long cutoffDay = cutoff.toEpochDay();
+        oldestLiveDay = Math.max(oldestLiveDay, cutoffDay);
+        for (int i = 0; i < partitions.length(); i++) {
+            Partition partition = partitions.get(i);
+            if (partition != null && partition.epochDay() < cutoffDay) {
+                partitions.compareAndSet(i, partition, null);
+            }
+        }
+    }
+}
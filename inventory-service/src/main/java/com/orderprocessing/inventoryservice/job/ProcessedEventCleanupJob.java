@@ -0,0 +1,48 @@
+package com.orderprocessing.inventoryservice.job;
+
+import com.orderprocessing.common.config.RetentionProperties;
+import com.orderprocessing.common.job.ProcessedEventCleanup;
+import com.orderprocessing.inventoryservice.idempotency.EventDeduplicator;
+import com.orderprocessing.inventoryservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * inventory-service's processed_events retention, on inventory.processed-events.cleanup-cron.
+ * Also expires the dedupe filter's days the table no longer holds.
+ */
+@Component
+public class ProcessedEventCleanupJob extends ProcessedEventCleanup {
+
+    private final EventDeduplicator eventDeduplicator;
+
+    // Runs are frequent, the filter only rotates by whole days
+    private LocalDate filterExpiredBefore;
+
+    public ProcessedEventCleanupJob(ProcessedEventRepository repository,
+                                    EventDeduplicator eventDeduplicator,
+                                    RetentionProperties properties,
+                                    MeterRegistry meterRegistry) {
+        super(repository, properties, meterRegistry);
+        this.eventDeduplicator = eventDeduplicator;
+    }
+
+    @Override
+    @Scheduled(cron = "${inventory.processed-events.cleanup-cron:0 */10 * * * *}")
+    public void cleanupOldEvents() {
+        super.cleanupOldEvents();
+    }
+
+    // Keep the dedupe filter's window in step with the table - only once it's really clean
+    @Override
+    protected void windowCleaned(LocalDateTime cutoff) {
+        if (!cutoff.toLocalDate().equals(filterExpiredBefore)) {
+            eventDeduplicator.expireBefore(cutoff);
+            filterExpiredBefore = cutoff.toLocalDate();
+        }
+    }
+}
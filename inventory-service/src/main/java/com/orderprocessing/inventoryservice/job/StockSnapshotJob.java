@@ -0,0 +1,155 @@
+package com.orderprocessing.inventoryservice.job;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds committed stock_ledger_log rows into stock_snapshot / stock_reservation and deletes them,
+ * keeping restart replay short. Only rows that were read are deleted, so a change that commits
+ * while a fold is running stays in the log for the next run.
+ * Runs only in the single instance holding StockLedgerOwner's lock.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockSnapshotJob {
+
+    private record LogRow(long id, Long orderId, String sku, long availableDelta, long reservedDelta) {}
+    private record OrderSku(long orderId, String sku) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.ledger.snapshot-batch-size:10000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval-ms:60000}",
+            initialDelayString = "${inventory.ledger.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        try {
+            int total = 0;
+            Integer folded;
+            do {
+                folded = transactionTemplate.execute(status -> foldBatch());
+                total += folded == null ? 0 : folded;
+            } while (folded != null && folded == batchSize);
+
+            if (total > 0) {
+                log.info("📸 Folded {} stock ledger entries into the snapshot", total);
+            }
+        } catch (Exception e) {
+            log.error("❌ Stock snapshot failed, log entries are kept for the next run: {}", e.getMessage());
+        }
+    }
+
+    private int foldBatch() {
+        List<LogRow> rows = jdbcTemplate.query(
+                "SELECT id, order_id, sku, available_delta, reserved_delta FROM stock_ledger_log " +
+                "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                (rs, i) -> {
+                    long orderId = rs.getLong(2);
+                    return new LogRow(rs.getLong(1), rs.wasNull() ? null : orderId,
+                            rs.getString(3), rs.getLong(4), rs.getLong(5));
+                },
+                batchSize);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, long[]> skuDeltas = new HashMap<>();
+        Map<OrderSku, Long> reservationDeltas = new HashMap<>();
+        for (LogRow row : rows) {
+            long[] delta = skuDeltas.computeIfAbsent(row.sku(), sku -> new long[2]);
+            delta[0] += row.availableDelta();
+            delta[1] += row.reservedDelta();
+            if (row.orderId() != null && row.reservedDelta() != 0) {
+                reservationDeltas.merge(new OrderSku(row.orderId(), row.sku()), row.reservedDelta(), Long::sum);
+            }
+        }
+
+        foldSkuTotals(skuDeltas);
+        foldReservations(reservationDeltas);
+
+        jdbcTemplate.batchUpdate("DELETE FROM stock_ledger_log WHERE id = ?", rows, rows.size(),
+                (ps, row) -> ps.setLong(1, row.id()));
+        return rows.size();
+    }
+
+    private void foldSkuTotals(Map<String, long[]> skuDeltas) {
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(skuDeltas.entrySet());
+        LocalDateTime now = LocalDateTime.now();
+
+        int[][] updated = jdbcTemplate.batchUpdate(
+                "UPDATE stock_snapshot SET available = available + ?, reserved = reserved + ?, updated_at = ? WHERE sku = ?",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getValue()[0]);
+                    ps.setLong(2, entry.getValue()[1]);
+                    ps.setObject(3, now);
+                    ps.setString(4, entry.getKey());
+                });
+
+        List<Map.Entry<String, long[]>> missing = missing(entries, updated);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stock_snapshot (sku, available, reserved, updated_at) VALUES (?, ?, ?, ?)",
+                missing, Math.max(1, missing.size()), (ps, entry) -> {
+                    ps.setString(1, entry.getKey());
+                    ps.setLong(2, entry.getValue()[0]);
+                    ps.setLong(3, entry.getValue()[1]);
+                    ps.setObject(4, now);
+                });
+    }
+
+    private void foldReservations(Map<OrderSku, Long> reservationDeltas) {
+        if (reservationDeltas.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<OrderSku, Long>> entries = new ArrayList<>(reservationDeltas.entrySet());
+
+        int[][] updated = jdbcTemplate.batchUpdate(
+                "UPDATE stock_reservation SET quantity = quantity + ? WHERE order_id = ? AND sku = ?",
+                entries, entries.size(), (ps, entry) -> {
+                    ps.setLong(1, entry.getValue());
+                    ps.setLong(2, entry.getKey().orderId());
+                    ps.setString(3, entry.getKey().sku());
+                });
+
+        List<Map.Entry<OrderSku, Long>> missing = missing(entries, updated);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stock_reservation (order_id, sku, quantity) VALUES (?, ?, ?)",
+                missing, Math.max(1, missing.size()), (ps, entry) -> {
+                    ps.setLong(1, entry.getKey().orderId());
+                    ps.setString(2, entry.getKey().sku());
+                    ps.setLong(3, entry.getValue());
+                });
+
+        // Released orders net out to zero. A negative row means the release was folded before
+        // its reservation committed - keep it so the two still cancel out.
+        jdbcTemplate.update("DELETE FROM stock_reservation WHERE quantity = 0");
+    }
+
+    // Entries whose UPDATE touched no row
+    private static <T> List<T> missing(List<T> entries, int[][] updated) {
+        List<T> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] chunk : updated) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    missing.add(entries.get(index));
+                }
+                index++;
+            }
+        }
+        return missing;
+    }
+}
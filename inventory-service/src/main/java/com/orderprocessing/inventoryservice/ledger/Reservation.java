@@ -0,0 +1,7 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+/**
+ * Stock held for one order. Slots index straight into the ledger's count arrays.
+ */
+public record Reservation(long orderId, String[] skus, int[] slots, long[] quantities) {
+}
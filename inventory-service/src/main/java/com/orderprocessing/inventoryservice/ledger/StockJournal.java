@@ -0,0 +1,89 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends ledger changes to stock_ledger_log as part of the caller's transaction.
+ *
+ * Changes are buffered per transaction and written as one JDBC batch just before commit.
+ * The log is insert-only, so writers never wait on each other's row locks.
+ * In-memory effects are tied to the outcome: onCommit runs after a commit, onRollback after a rollback.
+ */
+@Component
+@RequiredArgsConstructor
+public class StockJournal {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO stock_ledger_log (order_id, sku, available_delta, reserved_delta, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    public record Change(Long orderId, String sku, long availableDelta, long reservedDelta) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(List<Change> changes, Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(changes);
+            run(onCommit);
+            return;
+        }
+
+        Pending pending = (Pending) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new Pending();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.addAll(changes);
+        if (onCommit != null) {
+            pending.onCommit.add(onCommit);
+        }
+        if (onRollback != null) {
+            pending.onRollback.add(onRollback);
+        }
+    }
+
+    private void write(List<Change> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes, changes.size(), (ps, change) -> {
+            ps.setObject(1, change.orderId());
+            ps.setString(2, change.sku());
+            ps.setLong(3, change.availableDelta());
+            ps.setLong(4, change.reservedDelta());
+            ps.setObject(5, now);
+        });
+    }
+
+    private static void run(Runnable action) {
+        if (action != null) {
+            action.run();
+        }
+    }
+
+    private class Pending implements TransactionSynchronization {
+        private final List<Change> changes = new ArrayList<>();
+        private final List<Runnable> onCommit = new ArrayList<>();
+        private final List<Runnable> onRollback = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            write(changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(StockJournal.this);
+            (status == STATUS_COMMITTED ? onCommit : onRollback).forEach(Runnable::run);
+        }
+    }
+}
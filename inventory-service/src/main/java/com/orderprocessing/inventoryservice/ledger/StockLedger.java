@@ -0,0 +1,237 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock counts - the only thing a reservation decision looks at.
+ *
+ * Each SKU gets a dense slot; available/reserved counts live in long[] arrays indexed by slot
+ * and guarded by lock stripes (slot % stripes). Multi-SKU reservations take their stripes in
+ * ascending order, so they can't deadlock. Reservations are keyed by orderId, so compensation
+ * (release) and settling a paid order are each a single map removal.
+ *
+ * Persistence is not done here - see StockLedgerService / StockJournal.
+ * The counts are per process, so there can only be one instance - see StockLedgerOwner.
+ */
+@Component
+public class StockLedger {
+
+    private final Map<String, Integer> slotsBySku = new ConcurrentHashMap<>();
+    private final Map<Long, Reservation> reservations = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    private final long[] available;
+    private final long[] reserved;
+    private final ReentrantLock[] stripes;
+
+    public StockLedger(@Value("${inventory.ledger.max-skus:65536}") int maxSkus,
+                       @Value("${inventory.ledger.lock-stripes:64}") int stripeCount) {
+        this.available = new long[maxSkus];
+        this.reserved = new long[maxSkus];
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Reserve all lines or nothing.
+     * @return the new reservation, or null if any SKU is short
+     */
+    public Reservation reserve(long orderId, String[] lineSkus, long[] quantities) {
+        int[] slots = new int[lineSkus.length];
+        for (int i = 0; i < lineSkus.length; i++) {
+            slots[i] = slotFor(lineSkus[i]);
+        }
+
+        int[] locked = lockStripes(slots);
+        try {
+            // Lines may repeat a SKU - check against the summed demand
+            for (int i = 0; i < slots.length; i++) {
+                long demand = 0;
+                for (int j = 0; j < slots.length; j++) {
+                    if (slots[j] == slots[i]) {
+                        demand += quantities[j];
+                    }
+                }
+                if (available[slots[i]] < demand) {
+                    return null;
+                }
+            }
+            for (int i = 0; i < slots.length; i++) {
+                available[slots[i]] -= quantities[i];
+                reserved[slots[i]] += quantities[i];
+            }
+        } finally {
+            unlock(locked);
+        }
+
+        Reservation reservation = new Reservation(orderId, lineSkus, slots, quantities);
+        if (reservations.putIfAbsent(orderId, reservation) != null) {
+            // Lost a race with a redelivery of the same order - hand the stock back
+            returnStock(reservation);
+            return null;
+        }
+        return reservation;
+    }
+
+    public Reservation reservation(long orderId) {
+        return reservations.get(orderId);
+    }
+
+    /**
+     * Release an order's reservation back to available stock. O(1) lookup by orderId.
+     * @return the released reservation, or null if the order holds nothing
+     */
+    public Reservation release(long orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation != null) {
+            returnStock(reservation);
+        }
+        return reservation;
+    }
+
+    /**
+     * Settle a paid order: the reserved stock has left the warehouse, so it leaves the reserved
+     * count without going back to available. O(1) lookup by orderId.
+     * @return the settled reservation, or null if the order holds nothing
+     */
+    public Reservation settle(long orderId) {
+        Reservation reservation = reservations.remove(orderId);
+        if (reservation != null) {
+            int[] slots = reservation.slots();
+            int[] locked = lockStripes(slots);
+            try {
+                for (int i = 0; i < slots.length; i++) {
+                    reserved[slots[i]] -= reservation.quantities()[i];
+                }
+            } finally {
+                unlock(locked);
+            }
+        }
+        return reservation;
+    }
+
+    public void restock(String sku, long quantity) {
+        apply(sku, quantity, 0);
+    }
+
+    public StockLevel level(String sku) {
+        Integer slot = slotsBySku.get(sku);
+        if (slot == null) {
+            return new StockLevel(sku, 0, 0);
+        }
+        ReentrantLock lock = stripes[slot % stripes.length];
+        lock.lock();
+        try {
+            return new StockLevel(sku, available[slot], reserved[slot]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<StockLevel> levels() {
+        List<StockLevel> levels = new ArrayList<>(nextSlot.get());
+        for (String sku : slotsBySku.keySet()) {
+            levels.add(level(sku));
+        }
+        return levels;
+    }
+
+    public boolean isEmpty() {
+        return slotsBySku.isEmpty();
+    }
+
+    // --- Recovery -------------------------------------------------------
+
+    /**
+     * Add raw deltas to a SKU. Used for restock and when replaying the change log.
+     */
+    void apply(String sku, long availableDelta, long reservedDelta) {
+        int slot = slotFor(sku);
+        ReentrantLock lock = stripes[slot % stripes.length];
+        lock.lock();
+        try {
+            available[slot] += availableDelta;
+            reserved[slot] += reservedDelta;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-register a reservation whose counts are already part of the recovered totals.
+     */
+    void restoreReservation(long orderId, String[] lineSkus, long[] quantities) {
+        int[] slots = new int[lineSkus.length];
+        for (int i = 0; i < lineSkus.length; i++) {
+            slots[i] = slotFor(lineSkus[i]);
+        }
+        reservations.put(orderId, new Reservation(orderId, lineSkus, slots, quantities));
+    }
+
+    // --- Internals ------------------------------------------------------
+
+    private void returnStock(Reservation reservation) {
+        int[] slots = reservation.slots();
+        int[] locked = lockStripes(slots);
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                available[slots[i]] += reservation.quantities()[i];
+                reserved[slots[i]] -= reservation.quantities()[i];
+            }
+        } finally {
+            unlock(locked);
+        }
+    }
+
+    private int slotFor(String sku) {
+        Integer slot = slotsBySku.get(sku);
+        if (slot != null) {
+            return slot;
+        }
+        return slotsBySku.computeIfAbsent(sku, key -> {
+            int next = nextSlot.getAndIncrement();
+            if (next >= available.length) {
+                nextSlot.decrementAndGet();
+                throw new IllegalStateException("Stock ledger is full (" + available.length + " SKUs), raise inventory.ledger.max-skus");
+            }
+            return next;
+        });
+    }
+
+    // Lock each distinct stripe once, in ascending order
+    private int[] lockStripes(int[] slots) {
+        int[] order = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            order[i] = slots[i] % stripes.length;
+        }
+        Arrays.sort(order);
+        int distinct = 0;
+        for (int i = 0; i < order.length; i++) {
+            if (i == 0 || order[i] != order[i - 1]) {
+                order[distinct++] = order[i];
+            }
+        }
+        int[] locked = Arrays.copyOf(order, distinct);
+        for (int stripe : locked) {
+            stripes[stripe].lock();
+        }
+        return locked;
+    }
+
+    private void unlock(int[] locked) {
+        for (int i = locked.length - 1; i >= 0; i--) {
+            stripes[locked[i]].unlock();
+        }
+    }
+}
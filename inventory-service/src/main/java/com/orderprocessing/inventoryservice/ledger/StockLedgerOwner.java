@@ -0,0 +1,83 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Keeps inventory-service to a single running instance.
+ *
+ * StockLedger decides reservations from its own in-memory counts, so a second replica would
+ * reserve the same stock again, and StockSnapshotJob would fold the log twice over. Startup
+ * takes a Postgres session advisory lock on a connection held for the life of the process and
+ * fails if another instance already has it; the lock goes when the process (or its connection) does.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedgerOwner {
+
+    // Arbitrary, just has to be the same for every inventory-service instance
+    private static final long LOCK_KEY = 0x53544f434bL;
+
+    private final DataSource dataSource;
+
+    // The embedded saga runs on H2, which has no advisory locks
+    @Value("${inventory.ledger.owner-lock:true}")
+    private boolean enabled;
+
+    private Connection connection;
+
+    @PostConstruct
+    void acquire() throws SQLException {
+        if (!enabled) {
+            log.warn("⚠️ Stock ledger owner lock disabled - run exactly one inventory-service instance");
+            return;
+        }
+        Connection candidate = dataSource.getConnection();
+        boolean acquired = false;
+        try (PreparedStatement ps = candidate.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            ps.setLong(1, LOCK_KEY);
+            try (ResultSet rs = ps.executeQuery()) {
+                acquired = rs.next() && rs.getBoolean(1);
+            }
+        } finally {
+            if (!acquired) {
+                candidate.close();
+            }
+        }
+        if (!acquired) {
+            throw new IllegalStateException("Another inventory-service instance owns the stock ledger - " +
+                    "the ledger is in-memory, so only one instance may run against a database");
+        }
+        connection = candidate;
+        log.info("🔒 Stock ledger owner lock acquired");
+    }
+
+    @PreDestroy
+    void release() {
+        if (connection == null) {
+            return;
+        }
+        try {
+            // Closing a pooled connection only returns it - unlock explicitly
+            try (PreparedStatement ps = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                ps.setLong(1, LOCK_KEY);
+                ps.execute();
+            }
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("⚠️ Could not release the stock ledger owner lock: {}", e.getMessage());
+        }
+        connection = null;
+    }
+}
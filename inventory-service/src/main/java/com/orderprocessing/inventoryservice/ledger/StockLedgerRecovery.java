@@ -0,0 +1,87 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rebuilds the in-memory ledger before any listener starts:
+ * last snapshot + open reservations, then every log row not yet folded into them.
+ * Log deltas are additive, so replay order doesn't matter.
+ */
+@Component
+@DependsOn({"entityManagerFactory", "stockLedgerOwner"})  // Tables are created by Hibernate; never recover a second copy
+@RequiredArgsConstructor
+@Slf4j
+public class StockLedgerRecovery {
+
+    private final StockLedger ledger;
+    private final StockLedgerService ledgerService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${inventory.ledger.default-sku:DEFAULT}")
+    private String defaultSku;
+
+    @Value("${inventory.ledger.seed-quantity:0}")
+    private long seedQuantity;
+
+    @PostConstruct
+    void recover() {
+        long start = System.currentTimeMillis();
+
+        jdbcTemplate.query("SELECT sku, available, reserved FROM stock_snapshot",
+                rs -> { ledger.apply(rs.getString(1), rs.getLong(2), rs.getLong(3)); });
+
+        Map<Long, Map<String, Long>> open = new HashMap<>();
+        jdbcTemplate.query("SELECT order_id, sku, quantity FROM stock_reservation",
+                rs -> { open.computeIfAbsent(rs.getLong(1), id -> new HashMap<>()).merge(rs.getString(2), rs.getLong(3), Long::sum); });
+
+        long[] replayed = {0};
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT order_id, sku, available_delta, reserved_delta FROM stock_ledger_log ORDER BY id");
+            ps.setFetchSize(10_000);
+            return ps;
+        }, rs -> {
+            long orderId = rs.getLong(1);
+            boolean hasOrder = !rs.wasNull();
+            String sku = rs.getString(2);
+            long reservedDelta = rs.getLong(4);
+            ledger.apply(sku, rs.getLong(3), reservedDelta);
+            if (hasOrder && reservedDelta != 0) {
+                open.computeIfAbsent(orderId, id -> new HashMap<>()).merge(sku, reservedDelta, Long::sum);
+            }
+            replayed[0]++;
+        });
+
+        int reservations = 0;
+        for (Map.Entry<Long, Map<String, Long>> entry : open.entrySet()) {
+            Map<String, Long> lines = entry.getValue();
+            lines.values().removeIf(quantity -> quantity <= 0);
+            if (lines.isEmpty()) {
+                continue;
+            }
+            String[] skus = lines.keySet().toArray(String[]::new);
+            long[] quantities = new long[skus.length];
+            for (int i = 0; i < skus.length; i++) {
+                quantities[i] = lines.get(skus[i]);
+            }
+            ledger.restoreReservation(entry.getKey(), skus, quantities);
+            reservations++;
+        }
+
+        if (ledger.isEmpty() && seedQuantity > 0) {
+            ledgerService.restock(defaultSku, seedQuantity);
+            log.info("🌱 Empty stock ledger seeded with {} x {}", seedQuantity, defaultSku);
+        }
+
+        log.info("📒 Stock ledger recovered in {} ms: {} open reservations, {} log entries replayed",
+                System.currentTimeMillis() - start, reservations, replayed[0]);
+    }
+}
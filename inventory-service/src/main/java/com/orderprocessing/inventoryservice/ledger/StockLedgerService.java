@@ -0,0 +1,110 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.inventoryservice.events.OrderLine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ties StockLedger decisions to the change log.
+ *
+ * Reserve takes stock immediately and hands it back if the transaction rolls back.
+ * Release and settle only change stock once the transaction commits. Either way memory can't
+ * promise stock the database doesn't know about.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLedgerService {
+
+    private static final SagaLogger log = SagaLogger.of(StockLedgerService.class);
+
+    private final StockLedger ledger;
+    private final StockJournal journal;
+
+    @Value("${inventory.ledger.default-sku:DEFAULT}")
+    private String defaultSku;
+
+    public boolean reserve(long orderId, List<OrderLine> items) {
+        if (ledger.reservation(orderId) != null) {
+            return true;  // Redelivery - stock is already held for this order
+        }
+
+        String[] skus;
+        long[] quantities;
+        if (items == null || items.isEmpty()) {
+            skus = new String[] {defaultSku};
+            quantities = new long[] {1};
+        } else {
+            skus = new String[items.size()];
+            quantities = new long[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                OrderLine line = items.get(i);
+                if (line.getSku() == null || line.getQuantity() == null || line.getQuantity() <= 0) {
+                    log.warn(LogCategory.PROCESS, "⚠️ Rejecting order {} with invalid line {}", orderId, line);
+                    return false;
+                }
+                skus[i] = line.getSku();
+                quantities[i] = line.getQuantity();
+            }
+        }
+
+        Reservation reservation = ledger.reserve(orderId, skus, quantities);
+        if (reservation == null) {
+            return false;
+        }
+        journal.append(changes(reservation, -1), null, () -> ledger.release(orderId));
+        return true;
+    }
+
+    public boolean release(long orderId) {
+        Reservation reservation = ledger.reservation(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        journal.append(changes(reservation, 1), () -> ledger.release(orderId), null);
+        return true;
+    }
+
+    /**
+     * The order was paid: its reserved stock is consumed. Logged with the order id, so the snapshot
+     * job nets its stock_reservation rows out to zero and deletes them.
+     * @return false if the order holds nothing - a redelivery, or a reservation that failed
+     */
+    public boolean settle(long orderId) {
+        Reservation reservation = ledger.reservation(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        List<StockJournal.Change> changes = new ArrayList<>(reservation.skus().length);
+        for (int i = 0; i < reservation.skus().length; i++) {
+            changes.add(new StockJournal.Change(orderId, reservation.skus()[i], 0, -reservation.quantities()[i]));
+        }
+        journal.append(changes, () -> ledger.settle(orderId), null);
+        return true;
+    }
+
+    public void restock(String sku, long quantity) {
+        journal.append(List.of(new StockJournal.Change(null, sku, quantity, 0)),
+                () -> ledger.restock(sku, quantity), null);
+    }
+
+    public StockLevel level(String sku) {
+        return ledger.level(sku);
+    }
+
+    // direction -1 = reserve (available down, reserved up), +1 = release
+    private static List<StockJournal.Change> changes(Reservation reservation, int direction) {
+        List<StockJournal.Change> changes = new ArrayList<>(reservation.skus().length);
+        for (int i = 0; i < reservation.skus().length; i++) {
+            long quantity = reservation.quantities()[i];
+            changes.add(new StockJournal.Change(reservation.orderId(), reservation.skus()[i],
+                    direction * quantity, -direction * quantity));
+        }
+        return changes;
+    }
+}
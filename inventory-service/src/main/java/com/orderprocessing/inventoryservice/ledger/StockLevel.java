@@ -0,0 +1,4 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+public record StockLevel(String sku, long available, long reserved) {
+}
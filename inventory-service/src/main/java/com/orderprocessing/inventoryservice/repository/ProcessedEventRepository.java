@@ -1,15 +1,32 @@
 package com.orderprocessing.inventoryservice.repository;
 
+import com.orderprocessing.common.repository.ExpiringEventRepository;
 import com.orderprocessing.inventoryservice.entity.ProcessedEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
 
-public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String>
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String>, ExpiringEventRepository
 {
+    /**
+     * Deletes up to limit rows processed before the cutoff, in one statement and its own transaction.
+     * The range scan runs on idx_processed_events_processed_at; rows another instance is deleting are skipped.
+     */
     @Modifying
     @Transactional
-    int deleteByProcessedAtBefore(LocalDateTime cutoff);
-}
\ No newline at end of file
+    @Query(value = "DELETE FROM processed_events WHERE event_id IN (" +
+            "SELECT event_id FROM processed_events WHERE processed_at < :cutoff " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    @Override
+    int deleteChunkBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // Single WHERE event_id IN (...) lookup for a whole poll
+    @Query("select p.eventId from ProcessedEvent p where p.eventId in :eventIds")
+    Set<String> findExistingEventIds(@Param("eventIds") Collection<String> eventIds);
+}
@@ -0,0 +1,65 @@
+package com.orderprocessing.inventoryservice.ledger;
+
+import com.orderprocessing.inventoryservice.events.OrderLine;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class StockLedgerServiceTests {
+
+	private static final String SKU = "SKU-1";
+
+	private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+	private final StockLedger ledger = new StockLedger(16, 4);
+	private final StockLedgerService service = new StockLedgerService(ledger, new StockJournal(jdbcTemplate));
+
+	@Test
+	void settlingAPaidOrderConsumesItsReservedStock() {
+		service.restock(SKU, 10);
+		assertTrue(service.reserve(1, List.of(new OrderLine(SKU, 3))));
+		assertEquals(new StockLevel(SKU, 7, 3), service.level(SKU));
+
+		assertTrue(service.settle(1));
+		assertEquals(new StockLevel(SKU, 7, 0), service.level(SKU));
+		assertNull(ledger.reservation(1));
+
+		// Redelivered payment-success, or a late compensation: nothing is held any more
+		assertFalse(service.settle(1));
+		assertFalse(service.release(1));
+		assertEquals(new StockLevel(SKU, 7, 0), service.level(SKU));
+
+		// restock, reserve, settle - the last entry nets the order's reserved rows to zero
+		ArgumentCaptor<List<StockJournal.Change>> logged = changesCaptor();
+		verify(jdbcTemplate, times(3)).batchUpdate(anyString(), logged.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+		assertEquals(List.of(new StockJournal.Change(1L, SKU, 0, -3)), logged.getAllValues().get(2));
+	}
+
+	@Test
+	void releasingAnUnpaidOrderReturnsItsStock() {
+		service.restock(SKU, 10);
+		assertTrue(service.reserve(2, List.of(new OrderLine(SKU, 4))));
+
+		assertTrue(service.release(2));
+		assertEquals(new StockLevel(SKU, 10, 0), service.level(SKU));
+		assertFalse(service.settle(2));
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static ArgumentCaptor<List<StockJournal.Change>> changesCaptor() {
+		return (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+	}
+}
@@ -0,0 +1,35 @@
+package com.orderprocessing.loadgen;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Load profile, overridable on the command line: {@code --loadgen.rate-per-second=200 --loadgen.duration=PT5M}
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "loadgen")
+public class LoadGenProperties {
+
+    private String baseUrl = "http://localhost:8080";
+
+    // Orders started per second, on a fixed schedule (open loop)
+    private double ratePerSecond = 50;
+
+    private Duration duration = Duration.ofSeconds(60);
+
+    // Orders started during warmup are sent but not measured
+    private Duration warmup = Duration.ofSeconds(5);
+
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    // Give up on an order that isn't CONFIRMED / FAILED / CANCELLED by then (counted as an error)
+    private Duration terminalTimeout = Duration.ofSeconds(60);
+
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    private String reportFile = "loadgen-report.json";
+}
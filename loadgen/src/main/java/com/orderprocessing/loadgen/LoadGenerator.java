@@ -0,0 +1,165 @@
+package com.orderprocessing.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop driver: order i is due at start + i / rate whether or not earlier orders have answered, and its
+ * latencies are measured from that due time. A slow system therefore shows up as latency instead of quietly
+ * lowering the request rate (coordinated omission).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoadGenerator implements ApplicationRunner {
+
+    private static final Set<String> TERMINAL_STATES = Set.of("CONFIRMED", "FAILED", "CANCELLED");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final LoadGenProperties properties;
+    private final OrderClient orderClient;
+    private final ObjectMapper objectMapper;
+
+    private final Histogram createLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram terminalLatency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder attempted = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder createErrors = new LongAdder();
+    private final LongAdder terminalTimeouts = new LongAdder();
+    private final LongAdder pollErrors = new LongAdder();
+    private final LongAdder evenIds = new LongAdder();
+    private final LongAdder oddIds = new LongAdder();
+    private final ConcurrentHashMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong lastTerminalAt = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRatePerSecond());
+        long start = System.nanoTime();
+        long measureFrom = start + properties.getWarmup().toNanos();
+        long end = measureFrom + properties.getDuration().toNanos();
+
+        log.info("🚀 Driving {} at {}/s for {} (+{} warmup)", properties.getBaseUrl(),
+                properties.getRatePerSecond(), properties.getDuration(), properties.getWarmup());
+
+        long scheduled = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long due = start; due < end; due = start + ++scheduled * intervalNanos) {
+                LockSupport.parkNanos(due - System.nanoTime());
+                long dueAt = due;
+                boolean measured = due >= measureFrom;
+                executor.execute(() -> runOrder(dueAt, measured));
+            }
+            log.info("⏳ All {} orders started, waiting for terminal states", scheduled);
+        }  // close() waits for every order to finish or time out
+
+        LoadReport report = report(measureFrom, end);
+        System.out.println(report.toText());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(properties.getReportFile()), report);
+        log.info("📝 Report written to {}", properties.getReportFile());
+    }
+
+    private void runOrder(long dueAt, boolean measured) {
+        if (measured) {
+            attempted.increment();
+        }
+        long orderId;
+        try {
+            BigDecimal amount = BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble(10, 500))
+                    .setScale(2, RoundingMode.HALF_UP);
+            orderId = orderClient.createOrder("loadgen-customer", amount);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            if (measured) {
+                createErrors.increment();
+            }
+            log.debug("❌ Create failed: {}", e.getMessage());
+            return;
+        }
+        if (measured) {
+            record(createLatency, dueAt);
+            created.increment();
+            (orderId % 2 == 0 ? evenIds : oddIds).increment();
+        }
+
+        long deadline = dueAt + properties.getTerminalTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                String state = orderClient.getState(orderId);
+                if (TERMINAL_STATES.contains(state)) {
+                    if (measured) {
+                        record(terminalLatency, dueAt);
+                        outcomes.computeIfAbsent(state, s -> new LongAdder()).increment();
+                        lastTerminalAt.accumulateAndGet(System.nanoTime(), Math::max);
+                    }
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (measured) {
+                    pollErrors.increment();
+                }
+                log.debug("⚠️ Poll of order {} failed: {}", orderId, e.getMessage());
+            }
+            LockSupport.parkNanos(properties.getPollInterval().toNanos());
+        }
+        if (measured) {
+            terminalTimeouts.increment();
+        }
+        log.debug("⌛ Order {} did not reach a terminal state in {}", orderId, properties.getTerminalTimeout());
+    }
+
+    private static void record(Histogram histogram, long dueAt) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - dueAt);
+        histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private LoadReport report(long measureFrom, long end) {
+        double sendWindowSeconds = (end - measureFrom) / 1e9;
+        long completed = outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+        double completionSeconds = Math.max(lastTerminalAt.get() - measureFrom, 1) / 1e9;
+
+        LoadReport report = new LoadReport();
+        report.setBaseUrl(properties.getBaseUrl());
+        report.setTargetRatePerSecond(properties.getRatePerSecond());
+        report.setAchievedRatePerSecond(created.sum() / sendWindowSeconds);
+        report.setCompletedPerSecond(completed / completionSeconds);
+        report.setElapsedSeconds(sendWindowSeconds);
+        report.setAttempted(attempted.sum());
+        report.setCreated(created.sum());
+        report.setCreateErrors(createErrors.sum());
+        report.setTerminalTimeouts(terminalTimeouts.sum());
+        report.setPollErrors(pollErrors.sum());
+        report.setErrorRate(attempted.sum() == 0 ? 0
+                : (double) (createErrors.sum() + terminalTimeouts.sum()) / attempted.sum());
+        report.setEvenIds(evenIds.sum());
+        report.setOddIds(oddIds.sum());
+        outcomes.forEach((state, count) -> report.getOutcomes().put(state, count.sum()));
+        report.setCreateLatencyMs(LoadReport.Latency.of(createLatency));
+        report.setTimeToTerminalMs(LoadReport.Latency.of(terminalLatency));
+        return report;
+    }
+}
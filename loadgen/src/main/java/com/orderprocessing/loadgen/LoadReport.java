@@ -0,0 +1,77 @@
+package com.orderprocessing.loadgen;
+
+import lombok.Data;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Result of one run - written as JSON and printed as a text summary
+ */
+@Data
+public class LoadReport {
+
+    private String baseUrl;
+    private double targetRatePerSecond;
+    private double achievedRatePerSecond;    // Measured creates started per second
+    private double completedPerSecond;       // Measured orders reaching a terminal state per second
+    private double elapsedSeconds;
+
+    private long attempted;
+    private long created;
+    private long createErrors;
+    private long terminalTimeouts;
+    private long pollErrors;                 // Failed GETs, retried until the timeout
+    private double errorRate;                // (createErrors + terminalTimeouts) / attempted
+
+    private long evenIds;                    // Even ids succeed at payment-service, odd ones are declined
+    private long oddIds;
+    private Map<String, Long> outcomes = new TreeMap<>();
+
+    private Latency createLatencyMs;
+    private Latency timeToTerminalMs;
+
+    @Data
+    public static class Latency {
+        private long count;
+        private double mean;
+        private double p50;
+        private double p90;
+        private double p99;
+        private double p999;
+        private double max;
+
+        // Histograms are recorded in microseconds
+        static Latency of(Histogram histogram) {
+            Latency latency = new Latency();
+            latency.count = histogram.getTotalCount();
+            latency.mean = histogram.getMean() / 1000.0;
+            latency.p50 = histogram.getValueAtPercentile(50) / 1000.0;
+            latency.p90 = histogram.getValueAtPercentile(90) / 1000.0;
+            latency.p99 = histogram.getValueAtPercentile(99) / 1000.0;
+            latency.p999 = histogram.getValueAtPercentile(99.9) / 1000.0;
+            latency.max = histogram.getMaxValue() / 1000.0;
+            return latency;
+        }
+
+        String toText() {
+            return String.format("n=%d mean=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f (ms)",
+                    count, mean, p50, p90, p99, p999, max);
+        }
+    }
+
+    public String toText() {
+        return String.join(System.lineSeparator(),
+                "==== loadgen: " + baseUrl + " ====",
+                String.format("throughput     target %.1f/s, achieved %.1f/s, completed %.1f/s over %.1fs",
+                        targetRatePerSecond, achievedRatePerSecond, completedPerSecond, elapsedSeconds),
+                String.format("orders         attempted %d, created %d (even ids %d, odd ids %d)",
+                        attempted, created, evenIds, oddIds),
+                "outcomes       " + outcomes,
+                String.format("errors         %.2f%% (create %d, terminal timeout %d; poll retries %d)",
+                        errorRate * 100, createErrors, terminalTimeouts, pollErrors),
+                "create         " + createLatencyMs.toText(),
+                "to terminal    " + timeToTerminalMs.toText());
+    }
+}
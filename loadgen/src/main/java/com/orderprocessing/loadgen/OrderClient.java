@@ -0,0 +1,68 @@
+package com.orderprocessing.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Blocking calls through the gateway - callers run on virtual threads.
+ */
+@Component
+public class OrderClient {
+
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+
+    public OrderClient(ObjectMapper objectMapper, LoadGenProperties properties) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = properties.getBaseUrl();
+        this.requestTimeout = properties.getRequestTimeout();
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(requestTimeout)
+                .build();
+    }
+
+    /**
+     * POST /orders - returns the id order-service assigned
+     */
+    public long createOrder(String customerName, BigDecimal totalAmount) throws IOException, InterruptedException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("customerName", customerName, "totalAmount", totalAmount));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return send(request).get("id").asLong();
+    }
+
+    /**
+     * GET /api/orders/{id} - the order's current state
+     */
+    public String getState(long orderId) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + orderId))
+                .timeout(requestTimeout)
+                .GET()
+                .build();
+        return send(request).get("state").asText();
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException(request.method() + " " + request.uri().getPath() + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+}
@@ -1,17 +1,53 @@
 package com.orderprocessing.notificationservice;
 
+import com.orderprocessing.notificationservice.template.NotificationTemplates;
+import com.orderprocessing.notificationservice.template.TemplateContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    @Autowired
+    private NotificationTemplates templates;
+
     @PostMapping
-    public NotificationResponse sendNotification(@RequestBody NotificationRequest request) {
+    public ResponseEntity<NotificationResponse> sendNotification(@RequestBody NotificationRequest request) {
+        String message = request.getMessage();
+        if (request.getTemplate() != null) {
+            try {
+                message = templates.render(
+                        request.getChannel() != null ? request.getChannel() : "email",
+                        request.getTemplate(),
+                        request.getLocale() != null ? Locale.forLanguageTag(request.getLocale()) : null,
+                        new TemplateContext(null, request.getOrderId(), request.getCustomerName(), null, null));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new NotificationResponse(false, e.getMessage()));
+            }
+        }
+
         System.out.println("📧 Sending notification to: " + request.getCustomerName());
-        System.out.println("   Message: " + request.getMessage());
+        System.out.println("   Message: " + message);
 
         // Simulate sending email/SMS
-        return new NotificationResponse(true, "Notification sent");
+        return ResponseEntity.ok(new NotificationResponse(true, "Notification sent"));
+    }
+
+    /**
+     * Picks up edited templates without a restart; a template that doesn't compile leaves the old set in place.
+     */
+    @PostMapping("/templates/reload")
+    public ResponseEntity<Map<String, Object>> reloadTemplates() {
+        try {
+            return ResponseEntity.ok(Map.of("templates", templates.reload()));
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error", e.getMessage()));
+        }
     }
-}
\ No newline at end of file
+}
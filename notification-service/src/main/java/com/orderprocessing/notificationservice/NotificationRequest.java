@@ -7,4 +7,8 @@ public class NotificationRequest {
     private Long orderId;
     private String customerName;
     private String message;
-}
\ No newline at end of file
+    // Render a template instead of sending message as is, e.g. channel "sms" + template "order-confirmed"
+    private String channel;
+    private String template;
+    private String locale;
+}
@@ -1,9 +1,14 @@
 package com.orderprocessing.notificationservice;
 
+import com.orderprocessing.common.config.SagaLogProperties;
+import com.orderprocessing.common.logging.SagaLogEndpoint;
+import com.orderprocessing.common.metrics.SagaMetrics;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import({SagaLogEndpoint.class, SagaLogProperties.class, SagaMetrics.class})
 public class NotificationServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(NotificationServiceApplication.class, args);
@@ -0,0 +1,35 @@
+package com.orderprocessing.notificationservice.channel;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.notificationservice.dispatch.Notification;
+import com.orderprocessing.notificationservice.template.NotificationTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EmailChannel extends StubChannel {
+
+    private static final SagaLogger log = SagaLogger.of(EmailChannel.class);
+
+    public EmailChannel(NotificationTemplates templates,
+                        MeterRegistry meterRegistry,
+                        @Value("${notification.channels.email.call-latency-ms:80}") long callLatencyMs,
+                        @Value("${notification.channels.email.per-message-latency-ms:2}") long perMessageLatencyMs) {
+        super(templates, meterRegistry, callLatencyMs, perMessageLatencyMs);
+    }
+
+    @Override
+    public String name() {
+        return "email";
+    }
+
+    @Override
+    protected void deliver(Notification notification, String text) {
+        // Batches mix sagas - each message is logged under its own correlation ID
+        try (SagaLogger.Scope scope = SagaLogger.correlate(notification.correlationId())) {
+            log.info(LogCategory.PROCESS, "📧 Sending email: {}", text);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.orderprocessing.notificationservice.channel;
+
+import com.orderprocessing.notificationservice.dispatch.Notification;
+
+import java.util.List;
+
+/**
+ * A way to reach customers (email, SMS, push ...). Every NotificationChannel bean gets its own
+ * queue and workers in the NotificationDispatcher.
+ */
+public interface NotificationChannel {
+
+    String name();
+
+    /**
+     * Delivers a batch in one call to the provider. Throwing fails the whole batch, which is retried -
+     * a message that can never be sent is dropped by the channel instead.
+     */
+    void send(List<Notification> batch) throws Exception;
+}
@@ -0,0 +1,77 @@
+package com.orderprocessing.notificationservice.channel;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.notificationservice.dispatch.Notification;
+import com.orderprocessing.notificationservice.template.NotificationTemplates;
+import com.orderprocessing.notificationservice.template.TemplateContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stand-in for a provider API: logs each message after sleeping like a remote call would -
+ * a fixed cost per call plus a cost per message in the batch. Message text comes from the
+ * channel's templates (notification-templates/{name()}/).
+ *
+ * The whole batch is rendered before anything is delivered. A message that can't be rendered never
+ * will be, so it is dropped on its own rather than failing - and retrying - the rest of the batch.
+ */
+public abstract class StubChannel implements NotificationChannel {
+
+    private static final SagaLogger log = SagaLogger.of(StubChannel.class);
+
+    private final NotificationTemplates templates;
+    private final MeterRegistry meterRegistry;
+    private final long callLatencyMs;
+    private final long perMessageLatencyMs;
+
+    protected StubChannel(NotificationTemplates templates, MeterRegistry meterRegistry,
+                          long callLatencyMs, long perMessageLatencyMs) {
+        this.templates = templates;
+        this.meterRegistry = meterRegistry;
+        this.callLatencyMs = callLatencyMs;
+        this.perMessageLatencyMs = perMessageLatencyMs;
+    }
+
+    @Override
+    public void send(List<Notification> batch) throws InterruptedException {
+        List<Notification> rendered = new ArrayList<>(batch.size());
+        List<String> texts = new ArrayList<>(batch.size());
+        for (Notification notification : batch) {
+            try {
+                // Events carry no customer locale yet, so the default one is used
+                texts.add(templates.render(name(), notification.type().templateName(), null,
+                        TemplateContext.of(notification)));
+                rendered.add(notification);
+            } catch (IllegalArgumentException e) {
+                renderFailed().increment();
+                try (SagaLogger.Scope scope = SagaLogger.correlate(notification.correlationId())) {
+                    log.error(LogCategory.PROCESS, "❌ {} {} notification for order {} could not be rendered, dropping: {}",
+                            name(), notification.type(), notification.orderId(), e.getMessage());
+                }
+            }
+        }
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        Thread.sleep(callLatencyMs + perMessageLatencyMs * rendered.size());
+        for (int i = 0; i < rendered.size(); i++) {
+            deliver(rendered.get(i), texts.get(i));
+        }
+    }
+
+    protected abstract void deliver(Notification notification, String text);
+
+    // Same meter the dispatcher counts its own drops in
+    private Counter renderFailed() {
+        return Counter.builder("notification.dropped")
+                .description("Notifications given up on")
+                .tag("channel", name())
+                .tag("reason", "render-failed")
+                .register(meterRegistry);
+    }
+}
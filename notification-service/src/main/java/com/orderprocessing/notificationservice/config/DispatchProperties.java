@@ -0,0 +1,35 @@
+package com.orderprocessing.notificationservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * notification.dispatch.* settings of the NotificationDispatcher, applied to each channel.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.dispatch")
+public class DispatchProperties {
+
+    // Notifications waiting per channel, both lanes together
+    private int queueCapacity = 10000;
+
+    // Virtual threads calling the channel concurrently
+    private int workers = 8;
+
+    // Most notifications handed to one channel call
+    private int maxBatchSize = 50;
+
+    // How long the consumer may block on a full queue before the notification is dropped
+    private long enqueueTimeoutMs = 5000;
+
+    // Total attempts per batch, including the first one
+    private int maxAttempts = 3;
+
+    // Delay before retry n is n * retryBackoffMs
+    private long retryBackoffMs = 200;
+
+    // On shutdown, time the workers get to empty the queues
+    private long drainTimeoutMs = 10000;
+}
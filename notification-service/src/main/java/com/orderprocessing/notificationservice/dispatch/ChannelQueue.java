@@ -0,0 +1,100 @@
+package com.orderprocessing.notificationservice.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded queue with two lanes sharing one capacity. Batches are taken from the urgent lane first,
+ * topped up from the normal lane.
+ */
+class ChannelQueue {
+
+    private final int capacity;
+    private final ArrayDeque<Notification> urgent = new ArrayDeque<>();
+    private final ArrayDeque<Notification> normal = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private boolean closed;
+
+    ChannelQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return false if the queue stayed full for the whole timeout, or is closed
+     */
+    boolean offer(Notification notification, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (!closed && urgent.size() + normal.size() >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            if (closed) {
+                return false;
+            }
+            (notification.type().isUrgent() ? urgent : normal).add(notification);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until something is queued, then takes up to maxSize without waiting for more.
+     *
+     * @return empty once the queue is closed and drained
+     */
+    List<Notification> takeBatch(int maxSize) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (urgent.isEmpty() && normal.isEmpty()) {
+                if (closed) {
+                    return List.of();
+                }
+                notEmpty.await();
+            }
+            List<Notification> batch = new ArrayList<>(Math.min(maxSize, urgent.size() + normal.size()));
+            while (batch.size() < maxSize && !urgent.isEmpty()) {
+                batch.add(urgent.poll());
+            }
+            while (batch.size() < maxSize && !normal.isEmpty()) {
+                batch.add(normal.poll());
+            }
+            notFull.signalAll();
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Rejects further offers; takeBatch returns what is left, then empty
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size(boolean urgentLane) {
+        lock.lock();
+        try {
+            return urgentLane ? urgent.size() : normal.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
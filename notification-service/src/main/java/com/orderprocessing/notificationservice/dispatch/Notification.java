@@ -0,0 +1,24 @@
+package com.orderprocessing.notificationservice.dispatch;
+
+/**
+ * One notification about an order, handed to every channel. Channels render their own text.
+ *
+ * @param amount     set for ORDER_CONFIRMED
+ * @param reason     set for ORDER_FAILED
+ * @param enqueuedAt System.nanoTime() when dispatched, for the delivery latency metric
+ */
+public record Notification(NotificationType type,
+                           String correlationId,
+                           Long orderId,
+                           Double amount,
+                           String reason,
+                           long enqueuedAt) {
+
+    public static Notification confirmed(String correlationId, Long orderId, Double amount) {
+        return new Notification(NotificationType.ORDER_CONFIRMED, correlationId, orderId, amount, null, System.nanoTime());
+    }
+
+    public static Notification failed(String correlationId, Long orderId, String reason) {
+        return new Notification(NotificationType.ORDER_FAILED, correlationId, orderId, null, reason, System.nanoTime());
+    }
+}
@@ -0,0 +1,170 @@
+package com.orderprocessing.notificationservice.dispatch;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.notificationservice.channel.NotificationChannel;
+import com.orderprocessing.notificationservice.config.DispatchProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sits between the Kafka listeners and the channels: dispatch() only queues, so a slow provider
+ * slows its own queue, not consumption. Each channel has a bounded queue (failures in a lane ahead
+ * of confirmations) drained in batches by its own virtual-thread workers.
+ *
+ * The consumer blocks only when a queue is full, for up to enqueue-timeout-ms. Queued notifications
+ * are sent on shutdown as far as drain-timeout-ms allows; a crash loses them - notifications are
+ * at-most-once from here on.
+ */
+@Component
+@Slf4j
+public class NotificationDispatcher implements DisposableBean {
+
+    // Per-notification lines; lifecycle lines go to the plain logger
+    private static final SagaLogger sagaLog = SagaLogger.of(NotificationDispatcher.class);
+
+    private final DispatchProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<Lane> lanes = new ArrayList<>();
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private record Lane(NotificationChannel channel, ChannelQueue queue, Timer call, DistributionSummary batchSize) {}
+
+    public NotificationDispatcher(List<NotificationChannel> channels,
+                                  DispatchProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        for (NotificationChannel channel : channels) {
+            ChannelQueue queue = new ChannelQueue(properties.getQueueCapacity());
+            Lane lane = new Lane(channel, queue,
+                    Timer.builder("notification.channel.call")
+                            .description("One batch call to the channel's provider")
+                            .tag("channel", channel.name())
+                            .publishPercentileHistogram()
+                            .register(meterRegistry),
+                    DistributionSummary.builder("notification.batch.size")
+                            .description("Notifications per channel call")
+                            .tag("channel", channel.name())
+                            .register(meterRegistry));
+            for (boolean urgent : new boolean[]{true, false}) {
+                Gauge.builder("notification.queue.depth", queue, q -> q.size(urgent))
+                        .description("Notifications waiting for the channel")
+                        .tag("channel", channel.name())
+                        .tag("lane", urgent ? "urgent" : "normal")
+                        .register(meterRegistry);
+            }
+            lanes.add(lane);
+            for (int i = 0; i < properties.getWorkers(); i++) {
+                workers.submit(() -> work(lane));
+            }
+        }
+        log.info("📮 Notification dispatcher started: channels {}, {} workers each",
+                channels.stream().map(NotificationChannel::name).toList(), properties.getWorkers());
+    }
+
+    /**
+     * Queues the notification for every channel. Blocks only while a channel's queue is full.
+     */
+    public void dispatch(Notification notification) {
+        for (Lane lane : lanes) {
+            boolean queued;
+            try {
+                queued = lane.queue().offer(notification, properties.getEnqueueTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (!queued) {
+                dropped(lane, "queue-full").increment();
+                try (SagaLogger.Scope scope = SagaLogger.correlate(notification.correlationId())) {
+                    sagaLog.error(LogCategory.PUBLISH, "❌ {} queue full, dropping {} notification for order: {}",
+                            lane.channel().name(), notification.type(), notification.orderId());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        lanes.forEach(lane -> lane.queue().close());
+        workers.shutdown();
+        if (!workers.awaitTermination(properties.getDrainTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            log.warn("⚠️ Notification queues not drained within {} ms, dropping the rest", properties.getDrainTimeoutMs());
+            workers.shutdownNow();
+        }
+    }
+
+    private void work(Lane lane) {
+        try {
+            while (true) {
+                List<Notification> batch = lane.queue().takeBatch(properties.getMaxBatchSize());
+                if (batch.isEmpty()) {
+                    return;  // closed and drained
+                }
+                send(lane, batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void send(Lane lane, List<Notification> batch) throws InterruptedException {
+        String channel = lane.channel().name();
+        for (int attempt = 1; ; attempt++) {
+            long start = System.nanoTime();
+            try {
+                lane.channel().send(batch);
+                lane.call().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                lane.batchSize().record(batch.size());
+                long now = System.nanoTime();
+                for (Notification notification : batch) {
+                    delivery(channel, notification).record(now - notification.enqueuedAt(), TimeUnit.NANOSECONDS);
+                }
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    dropped(lane, "send-failed").increment(batch.size());
+                    sagaLog.error(LogCategory.PROCESS, "❌ {} batch of {} failed after {} attempt(s), dropping: {}",
+                            channel, batch.size(), attempt, e.getMessage());
+                    return;
+                }
+                sagaLog.warn(LogCategory.PROCESS, "🔁 {} batch of {} failed (attempt {}/{}), retrying: {}",
+                        channel, batch.size(), attempt, properties.getMaxAttempts(), e.getMessage());
+                Thread.sleep(properties.getRetryBackoffMs() * attempt);
+            }
+        }
+    }
+
+    private Timer delivery(String channel, Notification notification) {
+        return Timer.builder("notification.delivery")
+                .description("Time from dispatch to the channel accepting the notification")
+                .tag("channel", channel)
+                .tag("lane", notification.type().isUrgent() ? "urgent" : "normal")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Counter dropped(Lane lane, String reason) {
+        return Counter.builder("notification.dropped")
+                .description("Notifications given up on")
+                .tag("channel", lane.channel().name())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.orderprocessing.notificationservice.dispatch;
+
+public enum NotificationType {
+    ORDER_CONFIRMED(false, "order-confirmed"),
+    // The customer is waiting to hear why - goes out ahead of confirmations
+    ORDER_FAILED(true, "order-failed");
+
+    private final boolean urgent;
+    private final String templateName;
+
+    NotificationType(boolean urgent, String templateName) {
+        this.urgent = urgent;
+        this.templateName = templateName;
+    }
+
+    public boolean isUrgent() {
+        return urgent;
+    }
+
+    public String templateName() {
+        return templateName;
+    }
+}
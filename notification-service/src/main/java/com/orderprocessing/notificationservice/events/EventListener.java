@@ -1,16 +1,27 @@
 package com.orderprocessing.notificationservice.events;
 
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.notificationservice.dispatch.Notification;
+import com.orderprocessing.notificationservice.dispatch.NotificationDispatcher;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
-import lombok.extern.slf4j.Slf4j;
-
-import java.util.UUID;
 
 @Component
-@Slf4j
 public class EventListener {
 
+    private static final SagaLogger log = SagaLogger.of(EventListener.class);
+
+    @Autowired
+    private SagaMetrics sagaMetrics;
+
+    // Sending happens on the dispatcher's workers - a slow channel doesn't hold up consumption
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+
     @KafkaListener(
             topics = "payment-success",
             groupId = "notification-service",
@@ -23,12 +34,16 @@ public class EventListener {
         String correlationId = event.getCorrelationId();
         Long orderId = event.getOrderId();
 
-        log.info("[{}] 📥 Received PaymentSuccessEvent for order: {}", correlationId, orderId);
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-success", event.getPublishedAt());
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            log.info(LogCategory.RECEIVE, "📥 Received PaymentSuccessEvent for order: {}", orderId);
 
-        // Simulate sending notification
-        sendSuccessNotification(event.getCorrelationId(), event.getOrderId(), event.getAmount());
+            notificationDispatcher.dispatch(Notification.confirmed(correlationId, orderId, event.getAmount()));
 
-        log.info("[{}] ✅ Success notification sent for order: {}", correlationId, orderId);
+            log.info(LogCategory.PUBLISH, "📨 Success notification queued for order: {}", orderId);
+        }
+        sagaMetrics.recordProcessing("payment-success", receivedAt);
     }
 
     @KafkaListener(
@@ -43,23 +58,15 @@ public class EventListener {
         String correlationId = event.getCorrelationId();
         Long orderId = event.getOrderId();
 
-        log.info("[{}] 📥 Received PaymentFailedEvent for order: {}", correlationId, orderId);
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-failed", event.getPublishedAt());
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            log.info(LogCategory.RECEIVE, "📥 Received PaymentFailedEvent for order: {}", orderId);
 
-        // Simulate sending failure notification
-        sendFailureNotification(event.getCorrelationId(), event.getOrderId(), event.getReason());
-
-        log.info("[{}] ✅ Failure notification sent for order: {}", correlationId, orderId);
-    }
-
-    private void sendSuccessNotification(String correlationId, Long orderId, Double amount) {
-        log.info("[{}] 📧 Sending email: Order #{} confirmed! Amount: ${}", correlationId, orderId, amount);
-        log.info("[{}] 📱 Sending SMS: Your order #{} has been successfully processed!", correlationId, orderId);
-        // In real app: call email service, SMS service, push notification, etc.
-    }
+            notificationDispatcher.dispatch(Notification.failed(correlationId, orderId, event.getReason()));
 
-    private void sendFailureNotification(String correlationId, Long orderId, String reason) {
-        log.info("[{}] 📧 Sending email: Order #{} failed. Reason: {}", correlationId, orderId, reason);
-        log.info("[{}] 📱 Sending SMS: Unfortunately, order #{} could not be processed.", correlationId, orderId);
-        // In real app: call notification services
+            log.info(LogCategory.PUBLISH, "📨 Failure notification queued for order: {}", orderId);
+        }
+        sagaMetrics.recordProcessing("payment-failed", receivedAt);
     }
-}
\ No newline at end of file
+}
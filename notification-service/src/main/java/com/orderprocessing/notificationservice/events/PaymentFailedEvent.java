@@ -13,4 +13,8 @@ public class PaymentFailedEvent
     private Long orderId;
     private String reason;
     private String timestamp;
-}
\ No newline at end of file
+
+    // Saga timing, epoch millis (wall clock - the only clock comparable across services)
+    private Long originTimestamp;  // Order accepted by order-service, carried through every hop
+    private Long publishedAt;      // This event queued for Kafka by its producer
+}
@@ -0,0 +1,61 @@
+package com.orderprocessing.notificationservice.template;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A few reusable StringBuilders, so rendering doesn't grow a fresh buffer for every message.
+ * Lock-free: each thread starts probing at its own slot. Taking a buffer is an atomic swap, so no two
+ * renders share one; putting it back is a plain store, which under a race may drop a buffer to the GC.
+ * Oversized buffers (a one-off huge render) are left to the GC instead of being kept.
+ */
+class BufferPool {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<StringBuilder> slots;
+    private final int mask;
+
+    /**
+     * @param size rounded up to a power of two
+     */
+    BufferPool(int size) {
+        int slotCount = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(slotCount);
+        this.mask = slotCount - 1;
+    }
+
+    StringBuilder acquire() {
+        int start = home();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.getPlain(slot) != null) {
+                StringBuilder buffer = slots.getAndSet(slot, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return new StringBuilder(INITIAL_CAPACITY);
+    }
+
+    void release(StringBuilder buffer) {
+        if (buffer.capacity() > MAX_RETAINED_CAPACITY) {
+            return;
+        }
+        buffer.setLength(0);
+        int start = home();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.getPlain(slot) == null) {
+                slots.setRelease(slot, buffer);
+                return;
+            }
+        }
+    }
+
+    private int home() {
+        return (int) Thread.currentThread().threadId() & mask;
+    }
+}
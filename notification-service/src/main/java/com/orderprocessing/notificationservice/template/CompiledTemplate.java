@@ -0,0 +1,81 @@
+package com.orderprocessing.notificationservice.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating segments - literals[0] variables[0] literals[1] ...
+ * literals[n] - so rendering is a loop of appends with no parsing, lookups or formatting.
+ * Placeholders are {{name}} (see TemplateVariable); in HTML templates their values are escaped.
+ */
+public final class CompiledTemplate {
+
+    private static final BufferPool BUFFERS = new BufferPool(64);
+
+    private final String name;
+    private final String[] literals;
+    private final TemplateVariable[] variables;
+    private final boolean html;
+
+    private CompiledTemplate(String name, String[] literals, TemplateVariable[] variables, boolean html) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        this.html = html;
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unclosed or unknown placeholder
+     */
+    public static CompiledTemplate compile(String name, String source, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<TemplateVariable> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Template " + name + ": unclosed {{ at offset " + open);
+            }
+            String placeholder = source.substring(open + 2, close).trim();
+            TemplateVariable variable = TemplateVariable.forPlaceholder(placeholder);
+            if (variable == null) {
+                throw new IllegalArgumentException("Template " + name + ": unknown placeholder {{" + placeholder + "}}");
+            }
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            position = close + 2;
+        }
+        return new CompiledTemplate(name, literals.toArray(String[]::new),
+                variables.toArray(TemplateVariable[]::new), html);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void renderTo(StringBuilder out, TemplateContext context) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            variables[i].appendTo(out, context, html);
+        }
+        out.append(literals[variables.length]);
+    }
+
+    /**
+     * Renders into a pooled buffer; the returned String is the only allocation that grows with the output.
+     */
+    public String render(TemplateContext context) {
+        StringBuilder buffer = BUFFERS.acquire();
+        try {
+            renderTo(buffer, context);
+            return buffer.toString();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+}
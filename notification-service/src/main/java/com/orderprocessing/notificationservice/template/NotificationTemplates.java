@@ -0,0 +1,103 @@
+package com.orderprocessing.notificationservice.template;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiled notification templates, loaded from {location}{channel}/{name}[_{locale}].{txt|html},
+ * e.g. sms/order-failed_de.txt. Everything is parsed up front; render() only looks the template up
+ * and appends segments.
+ *
+ * reload() compiles the whole set again and swaps it in at once - if any template fails to compile,
+ * the running set stays as it was.
+ */
+@Component
+@Slf4j
+public class NotificationTemplates {
+
+    private final ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+    private final String location;
+    private final Locale defaultLocale;
+
+    // channel -> name -> locale (Locale.ROOT for the file without a locale suffix)
+    private volatile Map<String, Map<String, Map<Locale, CompiledTemplate>>> templates = Map.of();
+
+    public NotificationTemplates(@Value("${notification.templates.location:classpath:/notification-templates/}") String location,
+                                 @Value("${notification.templates.default-locale:en}") String defaultLocale) throws IOException {
+        this.location = location.endsWith("/") ? location : location + "/";
+        this.defaultLocale = Locale.forLanguageTag(defaultLocale);
+        reload();
+    }
+
+    /**
+     * @return the number of templates now loaded
+     */
+    public synchronized int reload() throws IOException {
+        Map<String, Map<String, Map<Locale, CompiledTemplate>>> compiled = new HashMap<>();
+        int count = 0;
+        for (Resource resource : resolver.getResources(location + "*/*.*")) {
+            String path = resource.getURL().getPath();
+            String[] parts = path.split("/");
+            if (parts.length < 2) {
+                continue;
+            }
+            String channel = parts[parts.length - 2];
+            String fileName = parts[parts.length - 1];
+            int dot = fileName.lastIndexOf('.');
+            String extension = fileName.substring(dot + 1);
+            if (!extension.equals("txt") && !extension.equals("html")) {
+                continue;
+            }
+            String baseName = fileName.substring(0, dot);
+            int underscore = baseName.indexOf('_');
+            String name = underscore < 0 ? baseName : baseName.substring(0, underscore);
+            Locale locale = underscore < 0 ? Locale.ROOT
+                    : Locale.forLanguageTag(baseName.substring(underscore + 1).replace('_', '-'));
+
+            String source = resource.getContentAsString(StandardCharsets.UTF_8).strip();
+            compiled.computeIfAbsent(channel, c -> new HashMap<>())
+                    .computeIfAbsent(name, n -> new HashMap<>())
+                    .put(locale, CompiledTemplate.compile(channel + "/" + fileName, source, extension.equals("html")));
+            count++;
+        }
+        templates = compiled;
+        log.info("📝 Loaded {} notification template(s) from {}", count, location);
+        return count;
+    }
+
+    /**
+     * @param locale null for the default locale; falls back from language-country to language to the default template
+     * @throws IllegalArgumentException if the channel has no such template
+     */
+    public String render(String channel, String name, Locale locale, TemplateContext context) {
+        return find(channel, name, locale == null ? defaultLocale : locale).render(context);
+    }
+
+    private CompiledTemplate find(String channel, String name, Locale locale) {
+        Map<Locale, CompiledTemplate> variants = templates.getOrDefault(channel, Map.of()).get(name);
+        if (variants == null) {
+            throw new IllegalArgumentException("No notification template " + channel + "/" + name);
+        }
+        CompiledTemplate template = variants.get(locale);
+        if (template == null && !locale.getCountry().isEmpty()) {
+            template = variants.get(Locale.of(locale.getLanguage()));
+        }
+        if (template == null) {
+            template = variants.get(Locale.ROOT);
+        }
+        if (template == null) {
+            throw new IllegalArgumentException("No notification template " + channel + "/" + name + " for " + locale);
+        }
+        return template;
+    }
+}
@@ -0,0 +1,18 @@
+package com.orderprocessing.notificationservice.template;
+
+import com.orderprocessing.notificationservice.dispatch.Notification;
+
+/**
+ * Values a template can refer to. Unset values render as empty text.
+ */
+public record TemplateContext(String correlationId,
+                              Long orderId,
+                              String customerName,
+                              Double amount,
+                              String reason) {
+
+    public static TemplateContext of(Notification notification) {
+        return new TemplateContext(notification.correlationId(), notification.orderId(), null,
+                notification.amount(), notification.reason());
+    }
+}
@@ -0,0 +1,106 @@
+package com.orderprocessing.notificationservice.template;
+
+/**
+ * The {{placeholders}} templates may use. Each appends its value straight into the output,
+ * numbers without going through a String.
+ */
+public enum TemplateVariable {
+
+    ORDER_ID("orderId") {
+        @Override
+        void appendTo(StringBuilder out, TemplateContext context, boolean html) {
+            if (context.orderId() != null) {
+                out.append(context.orderId().longValue());
+            }
+        }
+    },
+    AMOUNT("amount") {
+        @Override
+        void appendTo(StringBuilder out, TemplateContext context, boolean html) {
+            if (context.amount() != null) {
+                appendMoney(out, context.amount());
+            }
+        }
+    },
+    REASON("reason") {
+        @Override
+        void appendTo(StringBuilder out, TemplateContext context, boolean html) {
+            appendText(out, context.reason(), html);
+        }
+    },
+    CUSTOMER_NAME("customerName") {
+        @Override
+        void appendTo(StringBuilder out, TemplateContext context, boolean html) {
+            appendText(out, context.customerName(), html);
+        }
+    },
+    CORRELATION_ID("correlationId") {
+        @Override
+        void appendTo(StringBuilder out, TemplateContext context, boolean html) {
+            appendText(out, context.correlationId(), html);
+        }
+    };
+
+    private final String placeholder;
+
+    TemplateVariable(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+
+    abstract void appendTo(StringBuilder out, TemplateContext context, boolean html);
+
+    static TemplateVariable forPlaceholder(String placeholder) {
+        for (TemplateVariable variable : values()) {
+            if (variable.placeholder.equals(placeholder)) {
+                return variable;
+            }
+        }
+        return null;
+    }
+
+    // 2 decimals, rounded half up - 12.5 -> "12.50"
+    private static void appendMoney(StringBuilder out, double amount) {
+        long cents = Math.round(amount * 100);
+        if (cents < 0) {
+            out.append('-');
+            cents = -cents;
+        }
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            out.append('0');
+        }
+        out.append(fraction);
+    }
+
+    private static void appendText(StringBuilder out, String value, boolean html) {
+        if (value == null) {
+            return;
+        }
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        // Unescaped runs are appended in one go - most values need no escaping at all
+        int run = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(value, run, i).append(entity);
+                run = i + 1;
+            }
+        }
+        out.append(value, run, value.length());
+    }
+}
@@ -0,0 +1,28 @@
+package com.orderprocessing.orderservice;
+
+import com.orderprocessing.orderservice.entity.OrderOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OrderOutboxRepository extends JpaRepository<OrderOutbox, Long> {
+
+    /**
+     * Lock the oldest pending entries, skipping rows another relay already holds.
+     * Only the head entry of each key is eligible, so a later event for an order
+     * can never overtake an earlier one that is still locked elsewhere - or that failed.
+     */
+    @Query(value = """
+            SELECT * FROM order_outbox o
+            WHERE o.failed_at IS NULL
+            AND NOT EXISTS (
+                SELECT 1 FROM order_outbox p
+                WHERE p.event_key = o.event_key AND p.id < o.id)
+            ORDER BY o.id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OrderOutbox> lockNextBatch(@Param("limit") int limit);
+}
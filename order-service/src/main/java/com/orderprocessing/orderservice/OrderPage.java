@@ -0,0 +1,15 @@
+package com.orderprocessing.orderservice;
+
+import com.orderprocessing.orderservice.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OrderPage {
+    private List<Order> orders;
+    // Pass as afterId to get the next page, null on the last page
+    private Long nextAfterId;
+}
@@ -1,7 +1,32 @@
 package com.orderprocessing.orderservice;
 
 import com.orderprocessing.orderservice.entity.Order;
+import com.orderprocessing.orderservice.model.OrderState;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
-public interface OrderRepository extends JpaRepository<Order, Long> {
-}
\ No newline at end of file
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderStateTransitions {
+
+    // Keyset pages: WHERE id > :afterId ORDER BY id LIMIT :limit - cost doesn't grow with the page number
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Served by idx_orders_state_id (state, id)
+    List<Order> findByStateAndIdGreaterThanOrderByIdAsc(OrderState state, Long afterId, Limit limit);
+
+    /**
+     * Order count and amount per state in one pass - rebuilds the stats projection at startup.
+     */
+    @Query(value = "SELECT state AS state, COUNT(*) AS orders, COALESCE(SUM(total_amount), 0) AS amount "
+            + "FROM orders GROUP BY state", nativeQuery = true)
+    List<StateTotals> sumByState();
+
+    interface StateTotals {
+        String getState();
+        long getOrders();
+        BigDecimal getAmount();
+    }
+}
@@ -0,0 +1,18 @@
+package com.orderprocessing.orderservice;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Compare-and-set state transitions, mixed into {@link OrderRepository}.
+ */
+public interface OrderStateTransitions {
+
+    /**
+     * Moves the order to newState only if it is currently in fromState, in one round-trip.
+     * @return the order's total amount (zero when it has none) - it never changes after creation, so
+     *         the stats can count the transition without reading the order again; empty when the order
+     *         doesn't exist or is in any other state
+     */
+    Optional<BigDecimal> compareAndSetState(Long id, String fromState, String newState);
+}
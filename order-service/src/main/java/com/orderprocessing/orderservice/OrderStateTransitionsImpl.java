@@ -0,0 +1,41 @@
+package com.orderprocessing.orderservice;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Optional;
+
+class OrderStateTransitionsImpl implements OrderStateTransitions {
+
+    private static final String UPDATE_SQL = "UPDATE orders SET state = :newState WHERE id = :id AND state = :fromState";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final String compareAndSetSql;
+
+    OrderStateTransitionsImpl(DataSource dataSource) throws MetaDataAccessException {
+        String database = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        // The embedded saga runs on H2, which has no UPDATE ... RETURNING - it reads the updated rows through FINAL TABLE
+        this.compareAndSetSql = "H2".equals(database)
+                ? "SELECT COALESCE(total_amount, 0) FROM FINAL TABLE (" + UPDATE_SQL + ")"
+                : UPDATE_SQL + " RETURNING COALESCE(total_amount, 0)";
+    }
+
+    @Override
+    public Optional<BigDecimal> compareAndSetState(Long id, String fromState, String newState) {
+        // A result list rather than executeUpdate(), which refuses statements that return rows
+        List<?> amounts = entityManager.createNativeQuery(compareAndSetSql, BigDecimal.class)
+                .setParameter("id", id)
+                .setParameter("fromState", fromState)
+                .setParameter("newState", newState)
+                .getResultList();
+        return amounts.stream().findFirst().map(BigDecimal.class::cast);
+    }
+}
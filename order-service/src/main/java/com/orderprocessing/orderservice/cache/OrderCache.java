@@ -0,0 +1,139 @@
+package com.orderprocessing.orderservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orderprocessing.orderservice.OrderRepository;
+import com.orderprocessing.orderservice.entity.Order;
+import com.orderprocessing.orderservice.model.OrderState;
+import com.orderprocessing.orderservice.service.OrderStateMachine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded read-through cache of order snapshots for status polling.
+ * Writes go through after commit, so the cache never shows a state the database rolled back.
+ *
+ * The cache is per replica and write-through only reaches the replica that made the change:
+ * with several order-service replicas, the others serve their snapshot until it expires.
+ * That is why the TTL is seconds - the bound on how stale a poll can be - rather than minutes.
+ */
+@Component
+@Slf4j
+public class OrderCache {
+
+    private final Cache<Long, Order> cache;
+    private final OrderRepository orderRepository;
+    private final OrderStateMachine stateMachine;
+
+    public OrderCache(OrderRepository orderRepository,
+                      OrderStateMachine stateMachine,
+                      MeterRegistry meterRegistry,
+                      @Value("${orders.cache.max-size:100000}") long maxSize,
+                      @Value("${orders.cache.ttl:PT5S}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.stateMachine = stateMachine;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size ... tagged cache=orders
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    /**
+     * Cached snapshot, loaded from the database on a miss. Unknown ids are not cached.
+     */
+    public Optional<Order> get(Long orderId) {
+        return Optional.ofNullable(cache.get(orderId,
+                id -> orderRepository.findById(id).map(OrderCache::snapshot).orElse(null)));
+    }
+
+    /**
+     * Write-through once the current transaction commits (immediately when there is none).
+     */
+    public void putAfterCommit(Order order) {
+        Order snapshot = snapshot(order);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(snapshot);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(snapshot);
+            }
+        });
+    }
+
+    /**
+     * Write-through for a compare-and-set transition, where only the new state is known.
+     * Refreshes a cached snapshot after commit; an uncached order is left to the next read.
+     */
+    public void putStateAfterCommit(Long orderId, OrderState newState) {
+        Runnable update = () -> {
+            Order cached = cache.getIfPresent(orderId);
+            if (cached != null) {
+                put(new Order(orderId, cached.getCustomerName(), cached.getTotalAmount(), newState));
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public void evict(Long orderId) {
+        cache.invalidate(orderId);
+    }
+
+    private void put(Order snapshot) {
+        // After-commit hooks of concurrent transactions can run out of order - never let an
+        // older state overwrite one that is further along the state machine
+        cache.asMap().compute(snapshot.getId(), (id, cached) -> {
+            if (cached == null || cached.getState() == snapshot.getState()
+                    || reachable(cached.getState(), snapshot.getState())) {
+                return snapshot;
+            }
+            return reachable(snapshot.getState(), cached.getState()) ? cached : null;
+        });
+    }
+
+    private boolean reachable(OrderState from, OrderState to) {
+        Set<OrderState> seen = EnumSet.noneOf(OrderState.class);
+        Deque<OrderState> queue = new ArrayDeque<>(stateMachine.getValidNextStates(from));
+        while (!queue.isEmpty()) {
+            OrderState next = queue.poll();
+            if (next == to) {
+                return true;
+            }
+            if (seen.add(next)) {
+                queue.addAll(stateMachine.getValidNextStates(next));
+            }
+        }
+        return false;
+    }
+
+    // Detached copy - the managed entity keeps changing after it's cached
+    private static Order snapshot(Order order) {
+        return new Order(order.getId(), order.getCustomerName(), order.getTotalAmount(), order.getState());
+    }
+}
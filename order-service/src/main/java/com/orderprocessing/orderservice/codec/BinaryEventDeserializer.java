@@ -0,0 +1,74 @@
+package com.orderprocessing.orderservice.codec;
+
+import com.orderprocessing.common.codec.EventWire;
+import com.orderprocessing.orderservice.events.PaymentFailedEvent;
+import com.orderprocessing.orderservice.events.PaymentSuccessEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Map;
+
+/**
+ * Kafka Deserializer for the events order-service consumes.
+ * Binary records are decoded by type id; anything else goes to a JsonDeserializer configured
+ * with the same properties, so a topic can switch codecs without draining it first.
+ */
+public class BinaryEventDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> json = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return EventWire.isBinary(data) ? decode(data) : json.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        return EventWire.isBinary(data) ? decode(data) : json.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        json.close();
+    }
+
+    private static Object decode(byte[] data) {
+        EventWire.Reader in = new EventWire.Reader(data);
+        byte type = in.readHeader();
+
+        switch (type) {
+            case EventWire.PAYMENT_SUCCESS:
+                return new PaymentSuccessEvent(
+                        in.readString(),
+                        in.readNullableLong(),
+                        in.readAmount(),
+                        in.readString(),
+                        in.readTiming(),
+                        in.readTiming());
+            case EventWire.PAYMENT_FAILED:
+                return new PaymentFailedEvent(
+                        in.readString(),
+                        in.readString(),
+                        in.readNullableLong(),
+                        in.readString(),
+                        in.readString(),
+                        in.readTiming(),
+                        in.readTiming());
+            default:
+                throw new SerializationException("order-service does not consume event type " + type);
+        }
+    }
+}
@@ -1,12 +1,24 @@
 package com.orderprocessing.orderservice.controller;
 
+import com.orderprocessing.orderservice.cache.OrderCache;
 import com.orderprocessing.orderservice.entity.Order;
+import com.orderprocessing.orderservice.OrderPage;
 import com.orderprocessing.orderservice.OrderRepository;
+import com.orderprocessing.orderservice.model.OrderState;
+import com.orderprocessing.orderservice.service.OrderExportService;
 import com.orderprocessing.orderservice.service.OrderService;
+import com.orderprocessing.orderservice.stats.OrderStats;
 import com.orderprocessing.orderservice.events.EventPublisher;
 import com.orderprocessing.orderservice.events.OrderCreatedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -25,20 +37,72 @@ public class OrderController
     @Autowired
     private EventPublisher eventPublisher;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderStats orderStats;
+
+    @Value("${orders.page.max-limit:1000}")
+    private int maxPageSize;
+
+    @Value("${orders.batch.max-size:10000}")
+    private int maxBatchSize;
+
     @PostMapping
     public Order createOrder(@RequestBody Order order) {
         return orderService.processOrder(order);
     }
 
-    // GET ALL orders (NEW - can test in browser!)
+    // Bulk ingestion for partner feeds - one transaction, JDBC-batched inserts
+    @PostMapping("/batch")
+    public List<Order> createOrders(@RequestBody List<Order> orders) {
+        if (orders.isEmpty() || orders.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Batch must contain between 1 and " + maxBatchSize + " orders");
+        }
+        return orderService.processOrders(orders);
+    }
+
+    // GET orders one keyset page at a time: /api/orders?afterId=&limit=&state=
     @GetMapping
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public OrderPage getAllOrders(@RequestParam(defaultValue = "0") Long afterId,
+                                  @RequestParam(defaultValue = "100") int limit,
+                                  @RequestParam(required = false) OrderState state) {
+        Limit pageLimit = Limit.of(Math.max(1, Math.min(limit, maxPageSize)));
+        List<Order> orders = state == null
+                ? orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, pageLimit)
+                : orderRepository.findByStateAndIdGreaterThanOrderByIdAsc(state, afterId, pageLimit);
+
+        Long nextAfterId = orders.size() < pageLimit.max() ? null : orders.get(orders.size() - 1).getId();
+        return new OrderPage(orders, nextAfterId);
+    }
+
+    // Full export as NDJSON, streamed from a database cursor
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(required = false) OrderState state) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(out -> orderExportService.export(state, out));
+    }
+
+    // Counts, amounts and confirmed/failed rates from the in-memory projection - no database query
+    @GetMapping("/stats")
+    public OrderStats.Snapshot getStats() {
+        return orderStats.snapshot();
     }
 
+    // Served from the order cache - status polls during a saga don't reach the database.
+    // Only the state changes after creation, so it is the ETag; a matching If-None-Match gets a bodiless 304
     @GetMapping("/{id}")
-    public Order getOrder(@PathVariable Long id) {
-        return orderRepository.findById(id).orElseThrow();
+    public ResponseEntity<Order> getOrder(@PathVariable Long id) {
+        Order order = orderCache.get(id).orElseThrow();
+        return ResponseEntity.ok()
+                .eTag(order.getId() + "-" + order.getState())
+                .body(order);
     }
 
     @PostMapping("/test/duplicate/{orderId}")
@@ -52,7 +116,9 @@ public class OrderController
                 orderId,
                 "Duplicate Test",
                 100.0,
-                LocalDateTime.now().toString()
+                LocalDateTime.now().toString(),
+                System.currentTimeMillis(),
+                null
         );
 
         // Publish TWICE with same eventId
@@ -1,7 +1,5 @@
 package com.orderprocessing.orderservice.controller;
 
-import com.orderprocessing.orderservice.OrderRepository;
-import com.orderprocessing.orderservice.entity.Order;
 import com.orderprocessing.orderservice.events.EventPublisher;
 import com.orderprocessing.orderservice.events.OrderCreatedEvent;
 import com.orderprocessing.orderservice.model.OrderState;
@@ -19,8 +17,6 @@ public class TestController {
     @Autowired
     private EventPublisher eventPublisher;
     @Autowired
-    private OrderRepository orderRepository;
-    @Autowired
     private OrderService orderService;
 
     @PostMapping("/duplicate")
@@ -35,7 +31,9 @@ public class TestController {
                 orderId,
                 "Duplicate Test User",
                 100.0,
-                LocalDateTime.now().toString()
+                LocalDateTime.now().toString(),
+                System.currentTimeMillis(),
+                null
         );
 
         // Publish TWICE with same eventId
@@ -48,12 +46,10 @@ public class TestController {
 
     @PostMapping("/invalid-transition/{orderId}")
     public String testInvalidTransition(@PathVariable Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
         String correlationId = "corr-" + UUID.randomUUID().toString();
         try {
             // Try invalid transition: CONFIRMED → PENDING
-            orderService.transitionState(order, OrderState.PENDING, correlationId);
+            orderService.transitionState(orderId, OrderState.PENDING, correlationId);
             return "ERROR: Transition should have been blocked!";
         } catch (IllegalStateException e) {
             return "✅ Transition correctly blocked: " + e.getMessage();
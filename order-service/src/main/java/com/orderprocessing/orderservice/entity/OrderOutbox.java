@@ -0,0 +1,54 @@
+package com.orderprocessing.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event waiting to be relayed to Kafka.
+ * Written in the same transaction as the order, deleted once the broker acknowledged it.
+ * An entry the relay can't read is kept with failedAt set instead, for someone to look at.
+ */
+@Entity
+@Table(name = "order_outbox",
+        indexes = @Index(name = "idx_order_outbox_key_id", columnList = "event_key, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderOutbox
+{
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private String topic;
+
+    // Kafka record key (orderId) - relay keeps per-key ordering
+    @Column(name = "event_key", nullable = false)
+    private String eventKey;
+
+    private String eventType;
+
+    @Column(length = 4000)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    // Set by the relay when the payload can't be turned into an event
+    private LocalDateTime failedAt;
+
+    @Column(length = 1000)
+    private String failureReason;
+
+    public OrderOutbox(String topic, String eventKey, String eventType, String payload) {
+        this.topic = topic;
+        this.eventKey = eventKey;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -1,26 +1,33 @@
 package com.orderprocessing.orderservice.events;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.common.publish.PublishPipeline;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final SagaLogger log = SagaLogger.of(EventPublisher.class);
+
+    private final PublishPipeline publishPipeline;
 
-    public void publishOrderCreated(OrderCreatedEvent event)
+    public CompletableFuture<SendResult<String, Object>> publishOrderCreated(OrderCreatedEvent event)
     {
         String correlationId = event.getCorrelationId();
         String key = event.getOrderId().toString();  // Use orderId as key
+        event.setPublishedAt(SagaMetrics.now());
 
-        log.info("[{}] 📤 Publishing OrderCreatedEvent with key {}: {}", correlationId, key, event);
-
-        kafkaTemplate.send("order-created", key, event);
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            log.info(LogCategory.PUBLISH, "📤 Publishing OrderCreatedEvent with key {}", key);
+        }
 
-        log.debug("[{}] ✅ Event sent to partition determined by key: {}", correlationId, key);
+        return publishPipeline.send("order-created", key, event, correlationId);
     }
 }
\ No newline at end of file
@@ -1,19 +1,23 @@
 package com.orderprocessing.orderservice.events;
 
-import com.orderprocessing.orderservice.OrderRepository;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
 import com.orderprocessing.orderservice.service.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
-import lombok.extern.slf4j.Slf4j;
 
 @Component
-@Slf4j
 public class PaymentEventListener {
 
+    private static final SagaLogger log = SagaLogger.of(PaymentEventListener.class);
+
     @Autowired
     private OrderService orderService;
+    @Autowired
+    private SagaMetrics sagaMetrics;
 
     @KafkaListener(
             topics = "payment-success",
@@ -25,21 +29,28 @@ public class PaymentEventListener {
     )
     public void handlePaymentSuccess(@Payload PaymentSuccessEvent event)
     {
-        log.info("[{}] 📥 Received PaymentSuccessEvent for order {}", event.getCorrelationId(), event.getOrderId());
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-success", event.getPublishedAt());
+        SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId());
 
         try
         {
+            log.info(LogCategory.RECEIVE, "📥 Received PaymentSuccessEvent for order {}", event.getOrderId());
             orderService.handlePaymentSuccess(event.getCorrelationId(), event.getOrderId());
+            sagaMetrics.recordEndToEnd("confirmed", event.getOriginTimestamp());
         }
-        catch(IllegalStateException e)
+        catch (IllegalStateException e)
         {
-            log.error("[{}] ❌ State transition error: {}",
-                    event.getCorrelationId(), e.getMessage());
+            log.error(LogCategory.PROCESS, "❌ State transition error: {}", e.getMessage());
         }
         catch (Exception e)
         {
-            log.error("[{}] ❌ Error handling PaymentSuccessEvent: {}",
-                    event.getCorrelationId(), e.getMessage(), e);
+            log.error(LogCategory.PROCESS, "❌ Error handling PaymentSuccessEvent: {}", e.getMessage(), e);
+        }
+        finally
+        {
+            sagaMetrics.recordProcessing("payment-success", receivedAt);
+            scope.close();
         }
     }
 
@@ -52,21 +63,28 @@ public class PaymentEventListener {
             }
     )
     public void handlePaymentFailed(@Payload PaymentFailedEvent event) {
-        log.info("[{}] 📥 Received PaymentFailedEvent for order: {}", event.getCorrelationId(), event.getOrderId());
+        long receivedAt = System.nanoTime();
+        sagaMetrics.recordQueueWait("payment-failed", event.getPublishedAt());
+        SagaLogger.Scope scope = SagaLogger.correlate(event.getCorrelationId());
 
         try
         {
+            log.info(LogCategory.RECEIVE, "📥 Received PaymentFailedEvent for order {}", event.getOrderId());
             orderService.handlePaymentFailure(event.getCorrelationId(), event.getOrderId());
+            sagaMetrics.recordEndToEnd("failed", event.getOriginTimestamp());
         }
         catch (IllegalStateException e)
         {
-            log.error("[{}] ❌ State transition error: {}",
-                    event.getCorrelationId(), e.getMessage());
+            log.error(LogCategory.PROCESS, "❌ State transition error: {}", e.getMessage());
         }
         catch (Exception e)
         {
-            log.error("[{}] ❌ Error handling PaymentFailedEvent: {}",
-                    event.getCorrelationId(), e.getMessage(), e);
+            log.error(LogCategory.PROCESS, "❌ Error handling PaymentFailedEvent: {}", e.getMessage(), e);
+        }
+        finally
+        {
+            sagaMetrics.recordProcessing("payment-failed", receivedAt);
+            scope.close();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,141 @@
+package com.orderprocessing.orderservice.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.common.publish.PublishPipeline;
+import com.orderprocessing.orderservice.OrderOutboxRepository;
+import com.orderprocessing.orderservice.entity.OrderOutbox;
+import com.orderprocessing.orderservice.events.OrderCreatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains order_outbox to Kafka.
+ * Each batch is locked, sent, acknowledged and deleted in one transaction, so a crash
+ * between send and delete re-publishes the batch (consumers dedupe on eventId).
+ * An entry that can't be read is marked failed and kept, not deleted - its order would
+ * otherwise wait in PROCESSING for an event that was never sent.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final SagaLogger log = SagaLogger.of(OutboxRelay.class);
+
+    private static final Map<String, Class<?>> EVENT_TYPES = Map.of(
+            OrderCreatedEvent.class.getSimpleName(), OrderCreatedEvent.class
+    );
+
+    private final OrderOutboxRepository outboxRepository;
+    private final PublishPipeline publishPipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter failedEntries;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    public OutboxRelay(OrderOutboxRepository outboxRepository,
+                       PublishPipeline publishPipeline,
+                       TransactionTemplate transactionTemplate,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.publishPipeline = publishPipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.failedEntries = Counter.builder("outbox.entries.failed")
+                .description("Outbox entries that could not be read and were kept instead of relayed")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);  // Keep draining while batches are full
+        } catch (Exception e) {
+            log.error(LogCategory.PUBLISH, "❌ Outbox relay failed, batch will be retried: {}", e.getMessage());
+        }
+    }
+
+    private int relayBatch() {
+        List<OrderOutbox> batch = outboxRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        List<OrderOutbox> relayed = new ArrayList<>(batch.size());
+        for (OrderOutbox entry : batch) {
+            Object event = toEvent(entry);
+            if (event == null) {
+                continue;  // Marked failed, stays in the table
+            }
+            if (event instanceof OrderCreatedEvent orderCreated) {
+                orderCreated.setPublishedAt(SagaMetrics.now());  // Outbox dwell counts toward end-to-end, not queue wait
+            }
+            sends.add(publishPipeline.send(entry.getTopic(), entry.getEventKey(), event, correlationId(event)));
+            relayed.add(entry);
+        }
+        publishPipeline.flush();  // Don't wait for linger.ms, the whole batch is queued
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Kafka acks", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge outbox batch", e);
+        }
+
+        outboxRepository.deleteAllInBatch(relayed);
+        log.info(LogCategory.PUBLISH, "📤 Relayed {} outbox events", relayed.size());
+        return batch.size();
+    }
+
+    private static String correlationId(Object event) {
+        return event instanceof OrderCreatedEvent orderCreated ? orderCreated.getCorrelationId() : null;
+    }
+
+    private Object toEvent(OrderOutbox entry) {
+        Class<?> type = EVENT_TYPES.get(entry.getEventType());
+        try {
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown event type " + entry.getEventType());
+            }
+            return objectMapper.readValue(entry.getPayload(), type);
+        } catch (Exception e) {
+            // Poison entry - it can never be published. Keep it out of the next batches, but don't lose it:
+            // the managed entity's new state is written when the batch commits
+            entry.setFailedAt(LocalDateTime.now());
+            entry.setFailureReason(truncate(String.valueOf(e.getMessage())));
+            failedEntries.increment();
+            log.error(LogCategory.PUBLISH, "❌ Outbox entry {} for key {} is unreadable, marked failed: {}",
+                    entry.getId(), entry.getEventKey(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String truncate(String reason) {
+        return reason.length() <= 1000 ? reason : reason.substring(0, 1000);
+    }
+}
@@ -0,0 +1,85 @@
+package com.orderprocessing.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderprocessing.orderservice.model.OrderState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * Streams orders as NDJSON straight from a JDBC cursor.
+ * Only fetchSize rows are ever on the heap, however large the table is.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public OrderExportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    public void export(OrderState state, OutputStream out) {
+        // Postgres only uses a cursor (and honours fetchSize) with auto-commit off
+        readOnlyTx.executeWithoutResult(status -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+                json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // Lines end with our own '\n' - Jackson's default root separator would start every line after the first with a space
+                json.setRootValueSeparator(null);
+                long[] rows = {0};
+
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(state == null
+                                    ? "SELECT id, customer_name, total_amount, state FROM orders ORDER BY id"
+                                    : "SELECT id, customer_name, total_amount, state FROM orders WHERE state = ? ORDER BY id",
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    if (state != null) {
+                        ps.setString(1, state.name());
+                    }
+                    return ps;
+                }, rs -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeNumberField("id", rs.getLong(1));
+                        json.writeStringField("customerName", rs.getString(2));
+                        json.writeFieldName("totalAmount");
+                        json.writeNumber(rs.getBigDecimal(3));
+                        json.writeStringField("state", rs.getString(4));
+                        json.writeEndObject();
+                        json.writeRaw('\n');
+                        if (++rows[0] % fetchSize == 0) {
+                            json.flush();  // Push each fetched chunk to the client
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+
+                log.info("📤 Exported {} orders{}", rows[0], state == null ? "" : " in state " + state);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
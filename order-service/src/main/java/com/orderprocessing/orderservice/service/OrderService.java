@@ -1,33 +1,55 @@
 package com.orderprocessing.orderservice.service;
 
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.orderservice.cache.OrderCache;
 import com.orderprocessing.orderservice.entity.Order;
 import com.orderprocessing.orderservice.OrderRepository;
-import com.orderprocessing.orderservice.events.EventPublisher;
 import com.orderprocessing.orderservice.events.OrderCreatedEvent;
 import com.orderprocessing.orderservice.model.OrderState;
-import lombok.extern.slf4j.Slf4j;
+import com.orderprocessing.orderservice.stats.OrderStats;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
-@Slf4j
 public class OrderService {
 
+    private static final SagaLogger log = SagaLogger.of(OrderService.class);
+
     @Autowired
     private OrderRepository orderRepository;
 
     @Autowired
-    private EventPublisher eventPublisher;
+    private OutboxService outboxService;
 
     @Autowired
     private OrderStateMachine stateMachine;
 
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderStats orderStats;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orders.batch.chunk-size:500}")
+    private int ingestChunkSize;
+
     @Value("${payment.service.url:http://payment-service:8080}")
     private String paymentServiceUrl;
 
@@ -44,32 +66,83 @@ public class OrderService {
     {
         // Generate correlation ID for distributed tracing
         String correlationId = "corr-" + UUID.randomUUID().toString();
-        Long orderId = order.getId();
-        OrderState orderState = order.getState();
-
-        // New orders always start in PENDING state
-        order.setState(OrderState.PENDING);
-        order = orderRepository.save(order);
-
-        log.info("[{}] 🛒 Order created: {} in state: {}", correlationId, orderId, orderState);
-        // Publish OrderCreatedEvent
-        String eventId = UUID.randomUUID().toString();
-        OrderCreatedEvent event = new OrderCreatedEvent(
-                correlationId,
-                eventId,
-                order.getId(),
-                order.getCustomerName(),
-                order.getTotalAmount().doubleValue(),
-                LocalDateTime.now().toString()
-        );
-        eventPublisher.publishOrderCreated(event);
-
-        // Transition to PROCESSING state
-        transitionState(order, OrderState.PROCESSING , correlationId);
+        long originTimestamp = SagaMetrics.now();  // Start of the saga's end-to-end latency
+
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            // New orders always start in PENDING state
+            order.setState(OrderState.PENDING);
+            order = orderRepository.save(order);
+            orderCache.putAfterCommit(order);
+            orderStats.recordAfterCommit(null, OrderState.PENDING, order.getTotalAmount());
+
+            log.info(LogCategory.PROCESS, "🛒 Order created: {} in state: {}", order.getId(), order.getState());
+            // Queue OrderCreatedEvent - the outbox relay publishes it once this transaction commits
+            String eventId = UUID.randomUUID().toString();
+            OrderCreatedEvent event = new OrderCreatedEvent(
+                    correlationId,
+                    eventId,
+                    order.getId(),
+                    order.getCustomerName(),
+                    order.getTotalAmount().doubleValue(),
+                    LocalDateTime.now().toString(),
+                    originTimestamp,
+                    null
+            );
+            outboxService.enqueueOrderCreated(event);
+
+            // Transition to PROCESSING state
+            transitionState(order, OrderState.PROCESSING , correlationId);
+        }
 
         return order;
     }
 
+    /**
+     * Bulk ingestion for partner feeds. Orders are inserted straight in PROCESSING (one write per order
+     * instead of two) and flushed per chunk so inserts go out as JDBC batches and the persistence
+     * context stays small.
+     */
+    @Transactional
+    public List<Order> processOrders(List<Order> orders)
+    {
+        // Same PENDING → PROCESSING step as processOrder, validated once for the whole batch
+        OrderState initialState = stateMachine.transition(OrderState.PENDING, OrderState.PROCESSING);
+        String createdAt = LocalDateTime.now().toString();
+        long originTimestamp = SagaMetrics.now();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+
+        for (int from = 0; from < orders.size(); from += ingestChunkSize) {
+            List<Order> chunk = orders.subList(from, Math.min(from + ingestChunkSize, orders.size()));
+            List<OrderCreatedEvent> events = new ArrayList<>(chunk.size());
+
+            for (Order order : chunk) {
+                order.setId(null);
+                order.setState(initialState);
+                entityManager.persist(order);
+                totalAmount = totalAmount.add(order.getTotalAmount());
+                // Each order is its own saga - its own correlation ID, as in processOrder
+                events.add(new OrderCreatedEvent(
+                        "corr-" + UUID.randomUUID(),
+                        UUID.randomUUID().toString(),
+                        order.getId(),
+                        order.getCustomerName(),
+                        order.getTotalAmount().doubleValue(),
+                        createdAt,
+                        originTimestamp,
+                        null
+                ));
+            }
+            outboxService.enqueueOrderCreated(events);
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+        orderStats.recordCreatedAfterCommit(initialState, orders.size(), totalAmount);
+
+        log.info(LogCategory.PROCESS, "📦 Ingested {} orders in state {}", orders.size(), initialState);
+        return orders;
+    }
+
     @Transactional
     public void transitionState(Order order, OrderState newState, String correlationId)
     {
@@ -80,26 +153,63 @@ public class OrderService {
 
         order.setState(validatedState);
         orderRepository.save(order);
+        orderCache.putAfterCommit(order);
+        orderStats.recordAfterCommit(currentState, validatedState, order.getTotalAmount());
 
-        log.info("[{}] 🔄 Order {} transitioned: {} → {}",
-                correlationId, order.getId(), currentState, validatedState);
+        log.info(LogCategory.PROCESS, "🔄 Order {} transitioned: {} → {}", order.getId(), currentState, validatedState);
     }
 
+    /**
+     * Compare-and-set transition in one round-trip: UPDATE ... WHERE id = ? AND state = (allowed predecessor).
+     * @throws IllegalStateException if the order is not in a state that may move to newState
+     */
     @Transactional
-    public void handlePaymentSuccess(String correlationId, Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+    public void transitionState(Long orderId, OrderState newState, String correlationId)
+    {
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            compareAndSetState(orderId, newState);
+        }
+    }
+
+    private void compareAndSetState(Long orderId, OrderState newState)
+    {
+        // Every state has a single predecessor today, so one update also tells which state the order left
+        // (needed for the stats); should a state gain more, they are tried one by one
+        OrderState previousState = null;
+        BigDecimal amount = null;
+        for (String predecessor : stateMachine.getPredecessorNames(newState)) {
+            Optional<BigDecimal> moved = orderRepository.compareAndSetState(orderId, predecessor, newState.name());
+            if (moved.isPresent()) {
+                previousState = OrderState.valueOf(predecessor);
+                amount = moved.get();
+                break;
+            }
+        }
+
+        if (previousState == null) {
+            // Failure path only - find out why for the error message
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+            log.warn(LogCategory.PROCESS, "❌ Order {} cannot transition {} → {}", orderId, order.getState(), newState);
+            throw new IllegalStateException(
+                    String.format("Invalid state transition from %s to %s", order.getState(), newState));
+        }
+
+        orderCache.putStateAfterCommit(orderId, newState);
+        orderStats.recordAfterCommit(previousState, newState, amount);
+        log.info(LogCategory.PROCESS, "🔄 Order {} transitioned: {} → {}", orderId, previousState, newState);
+    }
 
-        transitionState(order, OrderState.CONFIRMED, correlationId);
-        log.info("[{}] ✅ Order {} confirmed", correlationId, orderId);
+    @Transactional
+    public void handlePaymentSuccess(String correlationId, Long orderId) {
+        transitionState(orderId, OrderState.CONFIRMED, correlationId);
+        log.info(LogCategory.PROCESS, "✅ Order {} confirmed", orderId);
     }
 
     @Transactional
     public void handlePaymentFailure(String correlationId, Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
-
-        transitionState(order, OrderState.FAILED, correlationId);
-        log.error("[{}] ❌ Order {} failed", correlationId, orderId);
+        transitionState(orderId, OrderState.FAILED, correlationId);
+        // A declined payment is a normal outcome, not an error of this service
+        log.info(LogCategory.PROCESS, "❌ Order {} failed", orderId);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,23 @@
 package com.orderprocessing.orderservice.service;
 
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
 import com.orderprocessing.orderservice.model.OrderState;
 import org.springframework.stereotype.Service;
-import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 @Service
-@Slf4j
 public class OrderStateMachine {
 
+    private static final SagaLogger log = SagaLogger.of(OrderStateMachine.class);
+
     // Define valid state transitions
     private static final Map<OrderState, Set<OrderState>> VALID_TRANSITIONS = Map.of(
             OrderState.PENDING, Set.of(OrderState.PROCESSING, OrderState.CANCELLED),
@@ -19,22 +27,48 @@ public class OrderStateMachine {
             OrderState.CANCELLED, Set.of()   // Terminal state
     );
 
+    /**
+     * Compiled form of VALID_TRANSITIONS, indexed by target state:
+     * bit n of PREDECESSOR_MASK[to.ordinal()] is set when OrderState.values()[n] → to is allowed.
+     */
+    private static final int[] PREDECESSOR_MASK = new int[OrderState.values().length];
+    private static final Map<OrderState, Set<OrderState>> NEXT_STATES = new EnumMap<>(OrderState.class);
+    private static final Map<OrderState, List<String>> PREDECESSOR_NAMES = new EnumMap<>(OrderState.class);
+
+    static {
+        VALID_TRANSITIONS.forEach((from, targets) -> {
+            NEXT_STATES.put(from, targets.isEmpty()
+                    ? Collections.emptySet()
+                    : Collections.unmodifiableSet(EnumSet.copyOf(targets)));
+            for (OrderState to : targets) {
+                PREDECESSOR_MASK[to.ordinal()] |= 1 << from.ordinal();
+            }
+        });
+        for (OrderState to : OrderState.values()) {
+            List<String> names = new ArrayList<>();
+            for (OrderState from : OrderState.values()) {
+                if ((PREDECESSOR_MASK[to.ordinal()] & (1 << from.ordinal())) != 0) {
+                    names.add(from.name());
+                }
+            }
+            PREDECESSOR_NAMES.put(to, List.copyOf(names));
+        }
+    }
+
     /**
      * Check if state transition is valid
      */
     public boolean canTransition(OrderState from, OrderState to) {
         if (from == null || to == null) {
-            log.error("Invalid state: from={}, to={}", from, to);
+            log.error(LogCategory.PROCESS, "Invalid state: from={}, to={}", from, to);
             return false;
         }
 
-        Set<OrderState> allowedTransitions = VALID_TRANSITIONS.get(from);
-        boolean isValid = allowedTransitions != null && allowedTransitions.contains(to);
+        boolean isValid = (PREDECESSOR_MASK[to.ordinal()] & (1 << from.ordinal())) != 0;
 
+        // Valid transitions are logged once applied, by OrderService
         if (!isValid) {
-            log.warn("❌ Invalid state transition: {} → {}", from, to);
-        } else {
-            log.info("✅ Valid state transition: {} → {}", from, to);
+            log.warn(LogCategory.PROCESS, "❌ Invalid state transition: {} → {}", from, to);
         }
 
         return isValid;
@@ -53,10 +87,17 @@ public class OrderStateMachine {
         return to;
     }
 
+    /**
+     * Names of the states that may move to the given state - the IN list of a compare-and-set update
+     */
+    public List<String> getPredecessorNames(OrderState to) {
+        return PREDECESSOR_NAMES.get(to);
+    }
+
     /**
      * Get all valid next states from current state
      */
     public Set<OrderState> getValidNextStates(OrderState currentState) {
-        return VALID_TRANSITIONS.getOrDefault(currentState, Set.of());
+        return NEXT_STATES.getOrDefault(currentState, Set.of());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,62 @@
+package com.orderprocessing.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.orderservice.OrderOutboxRepository;
+import com.orderprocessing.orderservice.entity.OrderOutbox;
+import com.orderprocessing.orderservice.events.OrderCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final SagaLogger log = SagaLogger.of(OutboxService.class);
+
+    private final OrderOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Queue OrderCreatedEvent for the relay.
+     * Must join the caller's transaction: the event only exists if the order commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOrderCreated(OrderCreatedEvent event)
+    {
+        String key = event.getOrderId().toString();  // Use orderId as key
+        outboxRepository.save(new OrderOutbox("order-created", key,
+                OrderCreatedEvent.class.getSimpleName(), toJson(event)));
+
+        log.info(LogCategory.PUBLISH, "📝 Queued OrderCreatedEvent in outbox with key {}", key);
+    }
+
+    /**
+     * Bulk variant - the entries are persisted in JDBC batches and relayed in producer batches
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueOrderCreated(List<OrderCreatedEvent> events)
+    {
+        List<OrderOutbox> entries = new ArrayList<>(events.size());
+        for (OrderCreatedEvent event : events) {
+            entries.add(new OrderOutbox("order-created", event.getOrderId().toString(),
+                    OrderCreatedEvent.class.getSimpleName(), toJson(event)));
+        }
+        outboxRepository.saveAll(entries);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
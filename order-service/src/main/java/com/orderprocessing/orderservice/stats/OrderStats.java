@@ -0,0 +1,166 @@
+package com.orderprocessing.orderservice.stats;
+
+import com.orderprocessing.orderservice.OrderRepository;
+import com.orderprocessing.orderservice.model.OrderState;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory read model of the orders table: count and amount per state, plus confirmations and failures
+ * over sliding windows. Built from one GROUP BY at startup, then kept up to date by OrderService after
+ * each commit - so dashboards don't have to page through every order.
+ *
+ * The windows only cover transitions seen since startup. Counts are per instance: with several
+ * order-service replicas each one reports the transitions it made (totals are right after a restart).
+ */
+@Component
+@Slf4j
+public class OrderStats {
+
+    private static final OrderState[] STATES = OrderState.values();
+    private static final int[] WINDOW_SECONDS = {60, 300, 900};
+    private static final String[] WINDOW_NAMES = {"1m", "5m", "15m"};
+
+    private final LongAdder[] counts = new LongAdder[STATES.length];
+    private final LongAdder[] amountCents = new LongAdder[STATES.length];
+    private final SlidingWindowCounter confirmed = new SlidingWindowCounter(900);
+    private final SlidingWindowCounter failed = new SlidingWindowCounter(900);
+
+    private final OrderRepository orderRepository;
+
+    public OrderStats(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (int i = 0; i < STATES.length; i++) {
+            counts[i] = new LongAdder();
+            amountCents[i] = new LongAdder();
+        }
+    }
+
+    // Before the web server and Kafka listeners start, so no transition is counted twice
+    @PostConstruct
+    void rebuild() {
+        long orders = 0;
+        for (OrderRepository.StateTotals totals : orderRepository.sumByState()) {
+            int state = OrderState.valueOf(totals.getState()).ordinal();
+            counts[state].add(totals.getOrders());
+            amountCents[state].add(cents(totals.getAmount()));
+            orders += totals.getOrders();
+        }
+        log.info("📊 Order stats rebuilt from {} order(s)", orders);
+    }
+
+    /**
+     * Counts a new order, or an order moving from one state to another (from null for a new order),
+     * once the current transaction commits.
+     */
+    public void recordAfterCommit(OrderState from, OrderState to, BigDecimal amount) {
+        long cents = cents(amount);
+        afterCommit(() -> apply(from, to, 1, cents));
+    }
+
+    /**
+     * Counts a batch of new orders created straight in the given state.
+     */
+    public void recordCreatedAfterCommit(OrderState state, long orders, BigDecimal totalAmount) {
+        long cents = cents(totalAmount);
+        afterCommit(() -> apply(null, state, orders, cents));
+    }
+
+    /**
+     * Reads the counters as they are - each is exact, but a transition in flight may show in one and not yet in another.
+     * Cost doesn't depend on the number of orders.
+     */
+    public Snapshot snapshot() {
+        long now = System.currentTimeMillis() / 1000;
+        Map<OrderState, Long> countByState = new EnumMap<>(OrderState.class);
+        Map<OrderState, BigDecimal> amountByState = new EnumMap<>(OrderState.class);
+        long total = 0;
+        for (OrderState state : STATES) {
+            long count = counts[state.ordinal()].sum();
+            countByState.put(state, count);
+            amountByState.put(state, BigDecimal.valueOf(amountCents[state.ordinal()].sum(), 2));
+            total += count;
+        }
+
+        Map<String, Window> windows = new LinkedHashMap<>();
+        for (int i = 0; i < WINDOW_SECONDS.length; i++) {
+            long confirmedCount = confirmed.sum(now, WINDOW_SECONDS[i]);
+            long failedCount = failed.sum(now, WINDOW_SECONDS[i]);
+            long finished = confirmedCount + failedCount;
+            windows.put(WINDOW_NAMES[i], new Window(
+                    confirmedCount,
+                    failedCount,
+                    (double) confirmedCount / WINDOW_SECONDS[i],
+                    (double) failedCount / WINDOW_SECONDS[i],
+                    finished == 0 ? null : (double) failedCount / finished));
+        }
+
+        return new Snapshot(Instant.ofEpochSecond(now), total, countByState, amountByState,
+                amountByState.get(OrderState.CONFIRMED), windows);
+    }
+
+    private void apply(OrderState from, OrderState to, long orders, long cents) {
+        if (from != null) {
+            counts[from.ordinal()].add(-orders);
+            amountCents[from.ordinal()].add(-cents);
+        }
+        counts[to.ordinal()].add(orders);
+        amountCents[to.ordinal()].add(cents);
+
+        if (to == OrderState.CONFIRMED) {
+            confirmed.add(System.currentTimeMillis() / 1000, orders);
+        } else if (to == OrderState.FAILED) {
+            failed.add(System.currentTimeMillis() / 1000, orders);
+        }
+    }
+
+    // A rolled-back transaction must not move the counters
+    private static void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * @param revenue amount of all CONFIRMED orders
+     */
+    public record Snapshot(Instant asOf,
+                           long totalOrders,
+                           Map<OrderState, Long> countByState,
+                           Map<OrderState, BigDecimal> amountByState,
+                           BigDecimal revenue,
+                           Map<String, Window> windows) {
+    }
+
+    /**
+     * @param failureRatio failed / (confirmed + failed), null when neither happened in the window
+     */
+    public record Window(long confirmed,
+                         long failed,
+                         double confirmedPerSecond,
+                         double failedPerSecond,
+                         Double failureRatio) {
+    }
+}
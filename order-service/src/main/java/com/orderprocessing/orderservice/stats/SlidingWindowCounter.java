@@ -0,0 +1,49 @@
+package com.orderprocessing.orderservice.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Events per second over the last N seconds, in a ring of one-second buckets.
+ * Each bucket packs its epoch second (upper 40 bits) with its count (lower 24 bits), so starting a new
+ * second and counting in it is a single CAS - no locks, and no count lost to a concurrent reset.
+ */
+class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+
+    SlidingWindowCounter(int seconds) {
+        this.buckets = new AtomicLongArray(seconds);
+    }
+
+    void add(long epochSecond, long events) {
+        int index = (int) (epochSecond % buckets.length());
+        long stamp = epochSecond << COUNT_BITS;
+        while (true) {
+            long current = buckets.get(index);
+            long count = (current & ~COUNT_MASK) == stamp ? current & COUNT_MASK : 0;
+            long next = stamp | Math.min(count + events, COUNT_MASK);  // saturates at 16M per second
+            if (buckets.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Events in the last windowSeconds seconds, including the current one. windowSeconds is capped at the ring size.
+     */
+    long sum(long nowEpochSecond, int windowSeconds) {
+        long oldest = nowEpochSecond - Math.min(windowSeconds, buckets.length()) + 1;
+        long total = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            long second = bucket >>> COUNT_BITS;
+            if (second >= oldest && second <= nowEpochSecond) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
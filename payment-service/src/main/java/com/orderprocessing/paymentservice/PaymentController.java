@@ -1,11 +1,19 @@
 package com.orderprocessing.paymentservice;
 
+import com.orderprocessing.paymentservice.journal.JournalRecord;
+import com.orderprocessing.paymentservice.journal.PaymentJournal;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/payments")
 public class PaymentController {
 
+    @Autowired
+    private PaymentJournal paymentJournal;
+
     @PostMapping
     public PaymentResponse processPayment(@RequestBody PaymentRequest request) {
         // Simulate payment processing
@@ -18,4 +26,10 @@ public class PaymentController {
 
         return new PaymentResponse(request.getOrderId(), success, message);
     }
-}
\ No newline at end of file
+
+    // Reconciliation: every charge attempt journaled for the order, oldest first
+    @GetMapping("/journal/{orderId}")
+    public List<JournalRecord> getJournal(@PathVariable Long orderId) {
+        return paymentJournal.findByOrderId(orderId);
+    }
+}
@@ -1,9 +1,20 @@
 package com.orderprocessing.paymentservice;
 
+import com.orderprocessing.common.config.PublishProperties;
+import com.orderprocessing.common.config.RetentionProperties;
+import com.orderprocessing.common.config.SagaLogProperties;
+import com.orderprocessing.common.logging.SagaLogEndpoint;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.common.publish.PublishPipeline;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import({SagaLogEndpoint.class, SagaLogProperties.class, PublishPipeline.class, PublishProperties.class,
+        RetentionProperties.class, SagaMetrics.class})
+@EnableScheduling
 public class PaymentServiceApplication {
     public static void main(String[] args) {
 
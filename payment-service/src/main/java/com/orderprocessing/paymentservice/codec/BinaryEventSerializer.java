@@ -0,0 +1,47 @@
+package com.orderprocessing.paymentservice.codec;
+
+import com.orderprocessing.common.codec.EventWire;
+import com.orderprocessing.paymentservice.events.PaymentFailedEvent;
+import com.orderprocessing.paymentservice.events.PaymentSuccessEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka Serializer for the events payment-service produces, in the EventWire binary layout.
+ * Selected per topic through DelegatingByTopicSerializer (see application.properties).
+ */
+public class BinaryEventSerializer implements Serializer<Object> {
+
+    // One reusable encode buffer per producer thread - the only allocation per record is the result
+    private static final ThreadLocal<EventWire.Writer> WRITERS = ThreadLocal.withInitial(EventWire.Writer::new);
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        EventWire.Writer out = WRITERS.get();
+
+        if (data instanceof PaymentSuccessEvent event) {
+            out.begin(EventWire.PAYMENT_SUCCESS);
+            out.writeString(event.getCorrelationId());
+            out.writeNullableLong(event.getOrderId());
+            out.writeAmount(event.getAmount());
+            out.writeTimestamp(event.getTimestamp());
+            out.writeNullableLong(event.getOriginTimestamp());
+            out.writeNullableLong(event.getPublishedAt());
+        } else if (data instanceof PaymentFailedEvent event) {
+            out.begin(EventWire.PAYMENT_FAILED);
+            out.writeString(event.getCorrelationId());
+            out.writeString(event.getEventId());
+            out.writeNullableLong(event.getOrderId());
+            out.writeString(event.getReason());
+            out.writeTimestamp(event.getTimestamp());
+            out.writeNullableLong(event.getOriginTimestamp());
+            out.writeNullableLong(event.getPublishedAt());
+        } else {
+            throw new SerializationException("No binary encoding for " + data.getClass().getName());
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,21 @@
+package com.orderprocessing.paymentservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * payment.journal.* settings of the PaymentJournal.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "payment.journal")
+public class JournalProperties {
+
+    // Segment files live here - must survive restarts (a volume in docker-compose)
+    private String directory = "payment-journal";
+
+    // Pre-allocated size of each segment file; rounded down to whole records
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+}
@@ -23,4 +23,13 @@ public class KafkaConfig {
                 .replicas(1)
                 .build();
     }
+
+    // Records payment-service gave up on; DeadLetterPublishingRecoverer keeps the source partition
+    @Bean
+    public NewTopic inventoryReservedDeadLetterTopic() {
+        return TopicBuilder.name("inventory-reserved.DLT")
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
 }
\ No newline at end of file
@@ -7,7 +7,8 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "processed_events")
+@Table(name = "processed_events",
+        indexes = @Index(name = "idx_processed_events_processed_at", columnList = "processedAt"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
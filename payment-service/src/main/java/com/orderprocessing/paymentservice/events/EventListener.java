@@ -1,128 +1,77 @@
 package com.orderprocessing.paymentservice.events;
 
-import com.orderprocessing.paymentservice.entity.ProcessedEvent;
-import com.orderprocessing.paymentservice.repository.ProcessedEventRepository;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.paymentservice.service.PaymentProcessor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
-@Slf4j
 public class EventListener {
 
+    private static final SagaLogger log = SagaLogger.of(EventListener.class);
+
     //constructor injection for 'final', created by @RequiredArgsConstructor
-    private final EventPublisher eventPublisher;
+    private final PaymentProcessor paymentProcessor;
 
-    //field injection
-//    @Autowired
-//    private ProcessedEventRepository processedEventRepository;
+    private final KeyOrderedDispatcher dispatcher;
 
-    private final ProcessedEventRepository processedEventRepository;
+    private final SagaMetrics sagaMetrics;
 
-    // In a real app, we'd get the order amount from a database or the event
-    // For now, we'll simulate based on orderId
+    private final DeadLetterPublishingRecoverer deadLetterRecoverer;
 
+    /**
+     * Key-ordered parallel mode: records of the same order run in sequence, different orders run concurrently
+     * on virtual threads. Each record is acknowledged once its payment result is published, or once it is on
+     * inventory-reserved.DLT after its last attempt failed; the container only commits an offset when every
+     * record below it has been acknowledged.
+     */
     @KafkaListener(
             topics = "inventory-reserved",
             groupId = "payment-service",
-            containerFactory = "kafkaListenerContainerFactory",
+            containerFactory = "parallelKafkaListenerContainerFactory",
             properties = {
-                    "spring.json.value.default.type=com.orderprocessing.paymentservice.events.InventoryReservedEvent"
+                    "spring.json.value.default.type=com.orderprocessing.paymentservice.events.InventoryReservedEvent",
+                    "max.poll.records=${payment.parallel.max-poll-records:500}"
             }
     )
-    @Transactional
-    public void handleInventoryReserved(@Payload InventoryReservedEvent event)
+    public void handleInventoryReserved(ConsumerRecord<String, InventoryReservedEvent> record, Acknowledgment ack)
     {
+        long receivedAt = System.nanoTime();
+        InventoryReservedEvent event = record.value();
         String correlationId = event.getCorrelationId();
-        Long orderId = event.getOrderId();
-        String eventId = event.getEventId();
-
-        log.info("[{}] 📥 Received InventoryReservedEvent for order: {}", correlationId, orderId);
+        String key = record.key() != null ? record.key() : String.valueOf(event.getOrderId());
 
-        // Idempotency check
-        if (processedEventRepository.existsById(eventId)) {
-            log.warn("[{}] 🔁 Duplicate InventoryReservedEvent detected: {}. Skipping.", correlationId, eventId);
-            return;
+        sagaMetrics.recordQueueWait("inventory-reserved", event.getPublishedAt());
+        try (SagaLogger.Scope scope = SagaLogger.correlate(correlationId)) {
+            log.info(LogCategory.RECEIVE, "📥 Received InventoryReservedEvent for order: {}", event.getOrderId());
         }
 
-        if (!event.isReserved()) {
-            log.warn("[{}] ⚠️ Inventory not reserved, skipping payment for order: {}", correlationId, orderId);
-            return;
-        }
-
-        // Simulate payment processing
-        // For demo: orders with even IDs succeed, odd IDs fail
-        try {
-            boolean paymentSuccess = processPayment(correlationId, orderId);
-            //Mark as processed AFTER successful processing
-            saveProcessedEvent(correlationId, orderId, eventId, "InventoryReservedEvent");
-
-            if (paymentSuccess) {
-                log.info("[{}] ✅ Payment successful for order: {}", correlationId, orderId);
-
-                PaymentSuccessEvent successEvent = new PaymentSuccessEvent(
-                        correlationId,
-                        orderId,
-                        100.0, // Simulated amount
-                        LocalDateTime.now().toString()
-                );
-                eventPublisher.publishPaymentSuccess(successEvent);
-
-            } else {
-                log.error("[{}] ❌ Payment failed for order: {}", correlationId, orderId);
-
-                PaymentFailedEvent failedEvent = new PaymentFailedEvent(
-                        correlationId,
-                        UUID.randomUUID().toString(),
-                        orderId,
-                        "Insufficient funds", // Simulated reason
-                        LocalDateTime.now().toString()
-                );
-                eventPublisher.publishPaymentFailed(failedEvent);
-            }
-        }
-        catch (Exception e)
-        {
-            log.error("[{}] ❌ Error processing InventoryReservedEvent for order {}: {}",
-                    correlationId, orderId, e.getMessage());
-            throw e;  // Don't mark as processed on failure
-        }
+        // Processing includes the wait behind earlier records of the same key
+        dispatcher.submit(key, correlationId, () -> paymentProcessor.process(event), () -> {
+            sagaMetrics.recordProcessing("inventory-reserved", receivedAt);
+            ack.acknowledge();
+        }, error -> deadLetter(record, ack, error));
     }
 
-    private boolean processPayment(String correlationId, Long orderId) {
-        log.info("[{}] 💳 Processing payment for order: {}", correlationId, orderId);
-
-        // Simulate payment logic:
-        // Even order IDs = success
-        // Odd order IDs = failure (to test compensation!)
-        boolean success = (orderId % 2 == 0);
-
-        if (success) {
-            log.info("[{}] 💰 Payment charged successfully for order {}", correlationId, orderId);
-        } else {
-            log.error("[{}] 💸 Payment declined for order {} - insufficient funds", correlationId, orderId);
+    // Left unacknowledged when the DLT send fails too: the partition's commits stall and the record is redelivered
+    private void deadLetter(ConsumerRecord<String, InventoryReservedEvent> record, Acknowledgment ack,
+                            RuntimeException error) {
+        try {
+            deadLetterRecoverer.accept(record, error);
+        } catch (RuntimeException e) {
+            log.error(LogCategory.PROCESS, "💀 Could not dead-letter record {}-{}@{}, leaving it unacknowledged: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            return;
         }
-
-        return success;
-    }
-
-    private void saveProcessedEvent(String correlationId, Long orderId, String eventId, String eventType) {
-        ProcessedEvent processed = new ProcessedEvent(
-                eventId,
-                orderId,
-                eventType,
-                LocalDateTime.now(),
-                "payment-service"
-        );
-        processedEventRepository.save(processed);
-        log.info("[{}] ✅ Marked order {} event {} as processed", correlationId, orderId, eventId);
+        log.warn(LogCategory.PROCESS, "💀 Record {}-{}@{} sent to the dead-letter topic",
+                record.topic(), record.partition(), record.offset());
+        ack.acknowledge();
     }
-}
\ No newline at end of file
+}
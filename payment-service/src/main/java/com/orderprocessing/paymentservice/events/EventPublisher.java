@@ -1,30 +1,57 @@
 package com.orderprocessing.paymentservice.events;
 
-import org.springframework.kafka.core.KafkaTemplate;
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.common.metrics.SagaMetrics;
+import com.orderprocessing.common.publish.PublishPipeline;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes payment results and waits for the broker to acknowledge them,
+ * so the caller's transaction (the processed_events marker) only commits once the result is out.
+ */
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EventPublisher {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private static final SagaLogger log = SagaLogger.of(EventPublisher.class);
+
+    private final PublishPipeline publishPipeline;
+
+    @Value("${payment.publish.ack-timeout-ms:10000}")
+    private long ackTimeoutMs;
 
     public void publishPaymentSuccess(PaymentSuccessEvent event)
     {
         String correlationId = event.getCorrelationId();
         String key = event.getOrderId().toString();  // Use orderId as key
-        log.info("[{}] 💳 Publishing PaymentSuccessEvent with key {}: {}", correlationId, key, event);
-        kafkaTemplate.send("payment-success", key, event);
+        event.setPublishedAt(SagaMetrics.now());
+        log.info(LogCategory.PUBLISH, "💳 Publishing PaymentSuccessEvent with key {}", key);
+        await(publishPipeline.send("payment-success", key, event, correlationId), "PaymentSuccessEvent", key);
     }
 
     public void publishPaymentFailed(PaymentFailedEvent event)
     {
         String correlationId = event.getCorrelationId();
         String key = event.getOrderId().toString();  // Use orderId as key
-        log.error("[{}] 💥 Publishing PaymentFailedEvent with key {}: {}", correlationId, key, event);
-        kafkaTemplate.send("payment-failed", key, event);
+        event.setPublishedAt(SagaMetrics.now());
+        log.info(LogCategory.PUBLISH, "💥 Publishing PaymentFailedEvent with key {}", key);
+        await(publishPipeline.send("payment-failed", key, event, correlationId), "PaymentFailedEvent", key);
+    }
+
+    private void await(CompletableFuture<?> send, String type, String key) {
+        try {
+            send.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while publishing " + type + " with key " + key, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to publish " + type + " with key " + key, e);
+        }
     }
-}
\ No newline at end of file
+}
@@ -14,4 +14,8 @@ public class InventoryReservedEvent
     private Long orderId;
     private boolean reserved;
     private String timestamp;
-}
\ No newline at end of file
+
+    // Saga timing, epoch millis (wall clock - the only clock comparable across services)
+    private Long originTimestamp;  // Order accepted by order-service, carried through every hop
+    private Long publishedAt;      // This event queued for Kafka by its producer
+}
@@ -0,0 +1,112 @@
+package com.orderprocessing.paymentservice.events;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs records on virtual threads: one after another for the same key, concurrently across keys.
+ * Each key's tasks are chained onto its previous task; the chain is dropped once it runs dry.
+ *
+ * onDone (the record's ack) runs once the task succeeded; onGiveUp gets the last failure once its attempts are
+ * used up. Neither runs after an interrupt - an unacknowledged record is redelivered after a restart.
+ */
+@Component
+public class KeyOrderedDispatcher implements DisposableBean {
+
+    private static final SagaLogger log = SagaLogger.of(KeyOrderedDispatcher.class);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Semaphore concurrency;
+
+    @Value("${payment.parallel.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${payment.parallel.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
+    public KeyOrderedDispatcher(@Value("${payment.parallel.max-concurrency:64}") int maxConcurrency,
+                                MeterRegistry meterRegistry) {
+        // Bounds work against the database pool, not threads - virtual threads are cheap
+        this.concurrency = new Semaphore(maxConcurrency);
+        Gauge.builder("payment.dispatch.active.keys", tails, ConcurrentHashMap::size)
+                .description("Keys with queued or running records")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param task     the work, retried while it throws
+     * @param onDone   called once the task succeeded
+     * @param onGiveUp called with the last failure once every attempt failed
+     */
+    public void submit(String key, String correlationId, Runnable task, Runnable onDone,
+                       Consumer<RuntimeException> onGiveUp) {
+        CompletableFuture<Void> tail = tails.compute(key, (k, previous) ->
+                (previous == null ? CompletableFuture.<Void>completedFuture(null) : previous)
+                        .thenRunAsync(() -> run(key, correlationId, task, onDone, onGiveUp), executor));
+        // Registered outside compute(): an already-finished tail would otherwise call remove() re-entrantly
+        tail.whenComplete((result, error) -> tails.remove(key, tail));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    // Never throws - a failed link would skip every later task of the key
+    private void run(String key, String correlationId, Runnable task, Runnable onDone,
+                     Consumer<RuntimeException> onGiveUp) {
+        try {
+            concurrency.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        SagaLogger.Scope scope = SagaLogger.correlate(correlationId);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    task.run();
+                    break;
+                } catch (RuntimeException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    if (attempt >= maxAttempts) {
+                        log.error(LogCategory.PROCESS, "❌ Giving up on record with key {} after {} attempt(s): {}",
+                                key, attempt, e.getMessage());
+                        onGiveUp.accept(e);
+                        return;
+                    }
+                    log.warn(LogCategory.PROCESS, "🔁 Record with key {} failed (attempt {}/{}), retrying: {}",
+                            key, attempt, maxAttempts, e.getMessage());
+                    Thread.sleep(retryBackoffMs * attempt);
+                }
+            }
+            onDone.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error(LogCategory.PROCESS, "❌ Dispatcher failure for key {}: {}", key, e.getMessage(), e);
+        } finally {
+            scope.close();
+            concurrency.release();
+        }
+    }
+}
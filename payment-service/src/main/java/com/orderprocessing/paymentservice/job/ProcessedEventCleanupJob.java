@@ -0,0 +1,27 @@
+package com.orderprocessing.paymentservice.job;
+
+import com.orderprocessing.common.config.RetentionProperties;
+import com.orderprocessing.common.job.ProcessedEventCleanup;
+import com.orderprocessing.paymentservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * payment-service's processed_events retention, on payment.processed-events.cleanup-cron.
+ */
+@Component
+public class ProcessedEventCleanupJob extends ProcessedEventCleanup {
+
+    public ProcessedEventCleanupJob(ProcessedEventRepository repository,
+                                    RetentionProperties properties,
+                                    MeterRegistry meterRegistry) {
+        super(repository, properties, meterRegistry);
+    }
+
+    @Override
+    @Scheduled(cron = "${payment.processed-events.cleanup-cron:0 */10 * * * *}")
+    public void cleanupOldEvents() {
+        super.cleanupOldEvents();
+    }
+}
@@ -0,0 +1,24 @@
+package com.orderprocessing.paymentservice.journal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One charge attempt as written to the payment journal.
+ *
+ * @param sequence position in the journal, gap-free from 1
+ * @param eventId  the InventoryReservedEvent that triggered it (ids that aren't UUIDs are stored as a name-based UUID)
+ */
+public record JournalRecord(long sequence,
+                            long orderId,
+                            UUID eventId,
+                            BigDecimal amount,
+                            Outcome outcome,
+                            Instant recordedAt) {
+
+    public enum Outcome {
+        CHARGED,
+        DECLINED
+    }
+}
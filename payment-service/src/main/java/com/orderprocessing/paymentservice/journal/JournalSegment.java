@@ -0,0 +1,284 @@
+package com.orderprocessing.paymentservice.journal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32C;
+
+/**
+ * One pre-allocated, memory-mapped journal file - segment-{first sequence}.log - holding fixed 64-byte records:
+ *
+ *   0  int   CRC32C of bytes 4..63, written last
+ *   4  byte  format version, 0 for a slot never written
+ *   5  byte  outcome
+ *   8  long  sequence
+ *  16  long  orderId
+ *  24  long  amount in cents
+ *  32  long  recorded at, epoch millis
+ *  40  long  eventId, most significant bits
+ *  48  long  eventId, least significant bits
+ *  56        reserved
+ *
+ * Once sealed, a segment also gets segment-{first sequence}.idx: (orderId, slot) pairs sorted by orderId,
+ * binary-searched by lookups. Until then lookups go through an in-memory index.
+ */
+final class JournalSegment {
+
+    static final int RECORD_SIZE = 64;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final byte FORMAT_VERSION = 1;
+    private static final String PREFIX = "segment-";
+    private static final JournalRecord.Outcome[] OUTCOMES = JournalRecord.Outcome.values();
+
+    private final Path directory;
+    private final long baseSequence;
+    private final Path indexFile;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    // orderId -> slots, while the segment has no index file; null afterwards
+    private volatile Map<Long, int[]> memoryIndex = new ConcurrentHashMap<>();
+    private volatile ByteBuffer fileIndex;
+    // Only the flushing thread moves this
+    private volatile int forcedUpTo;
+
+    private JournalSegment(Path directory, long baseSequence, FileChannel channel, int capacity) throws IOException {
+        this.directory = directory;
+        this.baseSequence = baseSequence;
+        this.indexFile = directory.resolve(fileName(baseSequence, ".idx"));
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+    }
+
+    static JournalSegment create(Path directory, long baseSequence, long size) throws IOException {
+        int capacity = (int) Math.min(size / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE);
+        FileChannel channel = FileChannel.open(directory.resolve(fileName(baseSequence, ".log")),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Mapping grows the file to its full size up front; make that length and the new directory entry durable
+        JournalSegment segment = new JournalSegment(directory, baseSequence, channel, capacity);
+        channel.force(true);
+        forceDirectory(directory);
+        return segment;
+    }
+
+    static JournalSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(file.getParent(), baseSequenceOf(file), channel,
+                (int) Math.min(channel.size() / RECORD_SIZE, Integer.MAX_VALUE / RECORD_SIZE));
+    }
+
+    static boolean isSegmentFile(Path file) {
+        String name = file.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(".log");
+    }
+
+    static long baseSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - ".log".length()));
+    }
+
+    long baseSequence() {
+        return baseSequence;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void write(int slot, long sequence, long orderId, UUID eventId, long amountCents,
+               JournalRecord.Outcome outcome, long recordedAt, CRC32C crc) {
+        int offset = slot * RECORD_SIZE;
+        buffer.putLong(offset + 8, sequence);
+        buffer.putLong(offset + 16, orderId);
+        buffer.putLong(offset + 24, amountCents);
+        buffer.putLong(offset + 32, recordedAt);
+        buffer.putLong(offset + 40, eventId.getMostSignificantBits());
+        buffer.putLong(offset + 48, eventId.getLeastSignificantBits());
+        buffer.put(offset + 5, (byte) outcome.ordinal());
+        buffer.put(offset + 4, FORMAT_VERSION);
+        buffer.putInt(offset, checksum(offset, crc));
+
+        memoryIndex.merge(orderId, new int[]{slot}, JournalSegment::concat);
+    }
+
+    /**
+     * @return the record in the slot, or null if the slot is empty or fails its checksum
+     */
+    JournalRecord read(int slot, CRC32C crc) {
+        int offset = slot * RECORD_SIZE;
+        if (buffer.get(offset + 4) != FORMAT_VERSION || buffer.getInt(offset) != checksum(offset, crc)) {
+            return null;
+        }
+        return new JournalRecord(
+                buffer.getLong(offset + 8),
+                buffer.getLong(offset + 16),
+                new UUID(buffer.getLong(offset + 40), buffer.getLong(offset + 48)),
+                BigDecimal.valueOf(buffer.getLong(offset + 24), 2),
+                OUTCOMES[buffer.get(offset + 5)],
+                Instant.ofEpochMilli(buffer.getLong(offset + 32)));
+    }
+
+    /**
+     * Rebuilds the in-memory index from the records that made it to disk. Everything from the first empty or
+     * torn slot on is cleared - a write the crash cut short was never acknowledged.
+     * @return the number of intact records, i.e. the next free slot
+     */
+    int recover(CRC32C crc) {
+        int slot = 0;
+        while (slot < capacity && read(slot, crc) != null) {
+            memoryIndex.merge(buffer.getLong(slot * RECORD_SIZE + 16), new int[]{slot}, JournalSegment::concat);
+            slot++;
+        }
+        boolean cleared = false;
+        for (int rest = slot; rest < capacity; rest++) {
+            cleared |= clearIfWritten(rest);
+        }
+        if (cleared) {
+            buffer.force();
+        }
+        return slot;
+    }
+
+    /**
+     * Maps the segment's index file, writing it first if the crash came between sealing and indexing.
+     */
+    void loadIndex(CRC32C crc) throws IOException {
+        if (!Files.exists(indexFile)) {
+            recover(crc);
+            writeIndex();
+            return;
+        }
+        try (FileChannel index = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            fileIndex = index.map(FileChannel.MapMode.READ_ONLY, 0, index.size());
+        }
+        memoryIndex = null;
+    }
+
+    /**
+     * Writes the sorted index file for a sealed segment and switches lookups over to it.
+     */
+    void writeIndex() throws IOException {
+        Map<Long, int[]> entries = memoryIndex;
+        long[] orderIds = entries.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        long count = entries.values().stream().mapToLong(slots -> slots.length).sum();
+
+        Path temporary = directory.resolve(indexFile.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer index = out.map(FileChannel.MapMode.READ_WRITE, 0, count * INDEX_ENTRY_SIZE);
+            for (long orderId : orderIds) {
+                for (int slot : entries.get(orderId)) {
+                    index.putLong(orderId).putInt(slot);
+                }
+            }
+            index.force();
+            Files.move(temporary, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            forceDirectory(directory);
+            fileIndex = index;
+        }
+        memoryIndex = null;
+    }
+
+    void find(long orderId, List<JournalRecord> out, CRC32C crc) {
+        // memoryIndex is cleared only after fileIndex is set, so check it first
+        Map<Long, int[]> entries = memoryIndex;
+        if (entries != null) {
+            int[] slots = entries.get(orderId);
+            if (slots != null) {
+                for (int slot : slots) {
+                    addIfIntact(slot, out, crc);
+                }
+            }
+            return;
+        }
+
+        ByteBuffer index = fileIndex;
+        int low = 0;
+        int high = index.capacity() / INDEX_ENTRY_SIZE;
+        while (low < high) {  // first entry >= orderId
+            int middle = (low + high) >>> 1;
+            if (index.getLong(middle * INDEX_ENTRY_SIZE) < orderId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int entry = low; entry < index.capacity() / INDEX_ENTRY_SIZE
+                && index.getLong(entry * INDEX_ENTRY_SIZE) == orderId; entry++) {
+            addIfIntact(index.getInt(entry * INDEX_ENTRY_SIZE + 8), out, crc);
+        }
+    }
+
+    /**
+     * Forces records up to (excluding) the given slot to disk; pages already forced are skipped.
+     */
+    void force(int upToSlot) {
+        int from = forcedUpTo;
+        int to = upToSlot * RECORD_SIZE;
+        if (to > from) {
+            buffer.force(from, to - from);
+            forcedUpTo = to;
+        }
+    }
+
+    void close() throws IOException {
+        channel.close();
+    }
+
+    private void addIfIntact(int slot, List<JournalRecord> out, CRC32C crc) {
+        JournalRecord record = read(slot, crc);
+        if (record != null) {
+            out.add(record);
+        }
+    }
+
+    private boolean clearIfWritten(int slot) {
+        int offset = slot * RECORD_SIZE;
+        boolean written = false;
+        for (int i = 0; i < RECORD_SIZE; i += 8) {
+            if (buffer.getLong(offset + i) != 0) {
+                buffer.putLong(offset + i, 0);
+                written = true;
+            }
+        }
+        return written;
+    }
+
+    private int checksum(int offset, CRC32C crc) {
+        crc.reset();
+        crc.update(buffer.slice(offset + 4, RECORD_SIZE - 4));
+        return (int) crc.getValue();
+    }
+
+    private static int[] concat(int[] slots, int[] more) {
+        int[] joined = new int[slots.length + more.length];
+        System.arraycopy(slots, 0, joined, 0, slots.length);
+        System.arraycopy(more, 0, joined, slots.length, more.length);
+        return joined;
+    }
+
+    private static String fileName(long baseSequence, String extension) {
+        return String.format("%s%020d%s", PREFIX, baseSequence, extension);
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not every platform can fsync a directory - the file contents are durable either way
+        }
+    }
+}
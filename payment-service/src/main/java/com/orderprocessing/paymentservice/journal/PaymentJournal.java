@@ -0,0 +1,278 @@
+package com.orderprocessing.paymentservice.journal;
+
+import com.orderprocessing.paymentservice.config.JournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, crash-safe log of every charge attempt, in memory-mapped segment files (see JournalSegment).
+ *
+ * append() returns once the record is on disk. Fsyncs are grouped: the first caller to wait forces
+ * everything written so far, and callers that arrive meanwhile are covered by the next force - one
+ * fsync per batch, not per payment. A full segment is forced, indexed by orderId and replaced by a new one.
+ *
+ * On startup sealed segments are trusted (they were forced before the next one was created) and only
+ * their index files are mapped; the tail segment is the only one scanned, so recovery time doesn't grow
+ * with the journal.
+ */
+@Component
+@Slf4j
+public class PaymentJournal implements DisposableBean {
+
+    private final Path directory;
+    private final long segmentSize;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C appendCrc = new CRC32C();         // guarded by appendLock
+    private final List<JournalSegment> sealed = new CopyOnWriteArrayList<>();
+    private volatile JournalSegment tail;
+    private int nextSlot;                                  // guarded by appendLock
+    private long nextSequence;                             // guarded by appendLock
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private long durableSequence;                          // guarded by flushLock
+    private boolean flushing;                              // guarded by flushLock
+
+    private final Counter appends;
+    private final Timer fsyncTimer;
+    private final DistributionSummary fsyncBatch;
+
+    public PaymentJournal(JournalProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.directory = Path.of(properties.getDirectory()).toAbsolutePath();
+        this.segmentSize = properties.getSegmentSize().toBytes();
+        recover();
+
+        this.appends = Counter.builder("payment.journal.appends")
+                .description("Records appended to the payment journal")
+                .register(meterRegistry);
+        this.fsyncTimer = Timer.builder("payment.journal.fsync")
+                .description("Time per journal fsync")
+                .register(meterRegistry);
+        this.fsyncBatch = DistributionSummary.builder("payment.journal.fsync.records")
+                .description("Records made durable by one fsync")
+                .register(meterRegistry);
+        Gauge.builder("payment.journal.segments", sealed, segments -> segments.size() + 1)
+                .description("Journal segment files")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Appends a record and waits until it is on disk.
+     * @throws UncheckedIOException if the journal can't be written - the payment must not count as recorded
+     */
+    public JournalRecord append(long orderId, String eventId, BigDecimal amount, JournalRecord.Outcome outcome) {
+        UUID eventUuid = toUuid(eventId);
+        long amountCents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        long recordedAt = System.currentTimeMillis();
+        long sequence;
+        JournalSegment full = null;
+
+        appendLock.lock();
+        try {
+            if (nextSlot == tail.capacity()) {
+                full = roll();
+            }
+            sequence = nextSequence++;
+            tail.write(nextSlot++, sequence, orderId, eventUuid, amountCents, outcome, recordedAt, appendCrc);
+        } finally {
+            appendLock.unlock();
+        }
+        appends.increment();
+
+        if (full != null) {
+            index(full);
+        }
+        awaitDurable(sequence);
+        return new JournalRecord(sequence, orderId, eventUuid, BigDecimal.valueOf(amountCents, 2), outcome,
+                Instant.ofEpochMilli(recordedAt));
+    }
+
+    /**
+     * Every record for the order, oldest first - more than one means the order was charged more than once.
+     */
+    public List<JournalRecord> findByOrderId(long orderId) {
+        CRC32C crc = new CRC32C();
+        List<JournalRecord> records = new ArrayList<>();
+        // Tail first: a roll adds the old tail to sealed before replacing it, so nothing is missed
+        JournalSegment current = tail;
+        for (JournalSegment segment : sealed) {
+            if (segment != current) {
+                segment.find(orderId, records, crc);
+            }
+        }
+        current.find(orderId, records, crc);
+        return records;
+    }
+
+    /**
+     * The record an event already left for the order, if any - a retry of that event must not charge again.
+     */
+    public Optional<JournalRecord> findByEvent(long orderId, String eventId) {
+        UUID eventUuid = toUuid(eventId);
+        return findByOrderId(orderId).stream()
+                .filter(record -> record.eventId().equals(eventUuid))
+                .findFirst();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        appendLock.lock();
+        try {
+            tail.force(nextSlot);
+            for (JournalSegment segment : sealed) {
+                segment.close();
+            }
+            tail.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(JournalSegment::isSegmentFile)
+                    .sorted((a, b) -> Long.compare(JournalSegment.baseSequenceOf(a), JournalSegment.baseSequenceOf(b)))
+                    .toList();
+        }
+
+        if (files.isEmpty()) {
+            tail = JournalSegment.create(directory, 1, segmentSize);
+            nextSequence = 1;
+        } else {
+            CRC32C crc = new CRC32C();
+            for (Path file : files.subList(0, files.size() - 1)) {
+                JournalSegment segment = JournalSegment.open(file);
+                segment.loadIndex(crc);
+                sealed.add(segment);
+            }
+            tail = JournalSegment.open(files.get(files.size() - 1));
+            nextSlot = tail.recover(crc);
+            nextSequence = tail.baseSequence() + nextSlot;
+        }
+        durableSequence = nextSequence - 1;
+        log.info("📒 Payment journal recovered from {}: {} sealed segment(s), {} record(s) in the tail, next sequence {}",
+                directory, sealed.size(), nextSlot, nextSequence);
+    }
+
+    // Under appendLock. Forces the full segment before its successor exists, so recovery never has to scan it
+    private JournalSegment roll() {
+        JournalSegment full = tail;
+        try {
+            full.force(nextSlot);
+            JournalSegment next = JournalSegment.create(directory, nextSequence, segmentSize);
+            sealed.add(full);
+            tail = next;
+            nextSlot = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start journal segment " + nextSequence, e);
+        }
+        markDurable(nextSequence - 1);
+        log.info("📒 Payment journal rolled to a new segment at sequence {}", nextSequence);
+        return full;
+    }
+
+    // Outside appendLock - sorting a segment's index shouldn't hold up appends
+    private void index(JournalSegment segment) {
+        try {
+            segment.writeIndex();
+        } catch (IOException e) {
+            // Lookups keep using the in-memory index; the file is written again on the next startup
+            log.warn("⚠️ Could not write journal index for segment {}: {}", segment.baseSequence(), e.getMessage());
+        }
+    }
+
+    private void awaitDurable(long sequence) {
+        flushLock.lock();
+        try {
+            while (durableSequence < sequence) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                // This caller forces for everyone written so far
+                flushing = true;
+                flushLock.unlock();
+                long forced = -1;
+                try {
+                    forced = forceWritten();
+                } finally {
+                    flushLock.lock();
+                    flushing = false;
+                    if (forced > durableSequence) {
+                        fsyncBatch.record(forced - durableSequence);
+                        durableSequence = forced;
+                    }
+                    flushed.signalAll();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the last sequence now on disk
+     */
+    private long forceWritten() {
+        JournalSegment segment;
+        int upToSlot;
+        long lastSequence;
+        appendLock.lock();
+        try {
+            segment = tail;
+            upToSlot = nextSlot;
+            lastSequence = nextSequence - 1;
+        } finally {
+            appendLock.unlock();
+        }
+        fsyncTimer.record(() -> segment.force(upToSlot));
+        return lastSequence;
+    }
+
+    private void markDurable(long sequence) {
+        flushLock.lock();
+        try {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+                flushed.signalAll();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private static UUID toUuid(String eventId) {
+        try {
+            return UUID.fromString(eventId);
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(eventId.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
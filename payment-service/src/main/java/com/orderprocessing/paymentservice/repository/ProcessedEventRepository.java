@@ -1,9 +1,28 @@
 package com.orderprocessing.paymentservice.repository;
 
+import com.orderprocessing.common.repository.ExpiringEventRepository;
 import com.orderprocessing.paymentservice.entity.ProcessedEvent;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 
 @Repository
-public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
-}
\ No newline at end of file
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String>, ExpiringEventRepository {
+
+    /**
+     * Deletes up to limit rows processed before the cutoff, in one statement and its own transaction.
+     * The range scan runs on idx_processed_events_processed_at; rows another instance is deleting are skipped.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM processed_events WHERE event_id IN (" +
+            "SELECT event_id FROM processed_events WHERE processed_at < :cutoff " +
+            "LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+    @Override
+    int deleteChunkBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
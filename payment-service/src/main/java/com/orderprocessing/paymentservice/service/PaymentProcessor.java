@@ -0,0 +1,147 @@
+package com.orderprocessing.paymentservice.service;
+
+import com.orderprocessing.common.logging.LogCategory;
+import com.orderprocessing.common.logging.SagaLogger;
+import com.orderprocessing.paymentservice.entity.ProcessedEvent;
+import com.orderprocessing.paymentservice.events.EventPublisher;
+import com.orderprocessing.paymentservice.events.InventoryReservedEvent;
+import com.orderprocessing.paymentservice.events.PaymentFailedEvent;
+import com.orderprocessing.paymentservice.events.PaymentSuccessEvent;
+import com.orderprocessing.paymentservice.journal.JournalRecord;
+import com.orderprocessing.paymentservice.journal.PaymentJournal;
+import com.orderprocessing.paymentservice.repository.ProcessedEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Payment for one InventoryReservedEvent, in its own transaction. The result is acknowledged by the broker
+ * before the transaction commits: a failed publish rolls back the processed_events marker, so a retry
+ * or redelivery publishes again instead of being skipped as a duplicate. The charge itself happens once
+ * per event - a retry finds the outcome the first attempt journaled and reuses it.
+ * Runs on the dispatcher's virtual threads, outside the listener's thread; the dispatcher puts the
+ * correlation ID in the MDC.
+ */
+@Service
+@RequiredArgsConstructor
+public class PaymentProcessor {
+
+    private static final SagaLogger log = SagaLogger.of(PaymentProcessor.class);
+
+    private final EventPublisher eventPublisher;
+    private final ProcessedEventRepository processedEventRepository;
+
+    private final PaymentJournal paymentJournal;
+
+    // In a real app, we'd get the order amount from a database or the event
+    // For now, we'll simulate based on orderId
+    private static final double SIMULATED_AMOUNT = 100.0;
+
+    @Transactional
+    public void process(InventoryReservedEvent event)
+    {
+        String correlationId = event.getCorrelationId();
+        Long orderId = event.getOrderId();
+        String eventId = event.getEventId();
+
+        // Idempotency check
+        if (processedEventRepository.existsById(eventId)) {
+            log.warn(LogCategory.RECEIVE, "🔁 Duplicate InventoryReservedEvent detected: {}. Skipping.", eventId);
+            return;
+        }
+
+        if (!event.isReserved()) {
+            log.warn(LogCategory.PROCESS, "⚠️ Inventory not reserved, skipping payment for order: {}", orderId);
+            return;
+        }
+
+        // Simulate payment processing
+        // For demo: orders with even IDs succeed, odd IDs fail
+        try {
+            boolean paymentSuccess;
+            Optional<JournalRecord> charged = paymentJournal.findByEvent(orderId, eventId);
+            if (charged.isPresent()) {
+                // An earlier attempt charged and then failed to publish - only the publish is repeated
+                paymentSuccess = charged.get().outcome() == JournalRecord.Outcome.CHARGED;
+                log.info(LogCategory.PROCESS, "🔁 Payment for order {} already {} by event {}, publishing again",
+                        orderId, charged.get().outcome(), eventId);
+            } else {
+                paymentSuccess = processPayment(orderId);
+                // Durable local record of the charge before anything else happens - kept even if this transaction rolls back
+                paymentJournal.append(orderId, eventId, BigDecimal.valueOf(SIMULATED_AMOUNT),
+                        paymentSuccess ? JournalRecord.Outcome.CHARGED : JournalRecord.Outcome.DECLINED);
+            }
+            // Mark as processed - committed only together with the publish below
+            saveProcessedEvent(orderId, eventId, "InventoryReservedEvent");
+
+            if (paymentSuccess) {
+                log.info(LogCategory.PROCESS, "✅ Payment successful for order: {}", orderId);
+
+                PaymentSuccessEvent successEvent = new PaymentSuccessEvent(
+                        correlationId,
+                        orderId,
+                        SIMULATED_AMOUNT,
+                        LocalDateTime.now().toString(),
+                        event.getOriginTimestamp(),
+                        null
+                );
+                eventPublisher.publishPaymentSuccess(successEvent);
+
+            } else {
+                // A declined payment is a saga outcome, not an error of this service
+                log.info(LogCategory.PROCESS, "❌ Payment failed for order: {}", orderId);
+
+                PaymentFailedEvent failedEvent = new PaymentFailedEvent(
+                        correlationId,
+                        UUID.randomUUID().toString(),
+                        orderId,
+                        "Insufficient funds", // Simulated reason
+                        LocalDateTime.now().toString(),
+                        event.getOriginTimestamp(),
+                        null
+                );
+                eventPublisher.publishPaymentFailed(failedEvent);
+            }
+        }
+        catch (Exception e)
+        {
+            log.error(LogCategory.PROCESS, "❌ Error processing InventoryReservedEvent for order {}: {}",
+                    orderId, e.getMessage());
+            throw e;  // Rolls back the processed marker
+        }
+    }
+
+    private boolean processPayment(Long orderId) {
+        log.info(LogCategory.PROCESS, "💳 Processing payment for order: {}", orderId);
+
+        // Simulate payment logic:
+        // Even order IDs = success
+        // Odd order IDs = failure (to test compensation!)
+        boolean success = (orderId % 2 == 0);
+
+        if (success) {
+            log.info(LogCategory.PROCESS, "💰 Payment charged successfully for order {}", orderId);
+        } else {
+            log.info(LogCategory.PROCESS, "💸 Payment declined for order {} - insufficient funds", orderId);
+        }
+
+        return success;
+    }
+
+    private void saveProcessedEvent(Long orderId, String eventId, String eventType) {
+        ProcessedEvent processed = new ProcessedEvent(
+                eventId,
+                orderId,
+                eventType,
+                LocalDateTime.now(),
+                "payment-service"
+        );
+        processedEventRepository.save(processed);
+        log.info(LogCategory.PROCESS, "✅ Marked order {} event {} as processed", orderId, eventId);
+    }
+}
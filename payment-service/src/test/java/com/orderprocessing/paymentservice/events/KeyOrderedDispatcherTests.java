@@ -0,0 +1,126 @@
+package com.orderprocessing.paymentservice.events;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeyOrderedDispatcherTests {
+
+	private static final int MAX_ATTEMPTS = 3;
+
+	private KeyOrderedDispatcher dispatcher;
+
+	@BeforeEach
+	void setUp() {
+		dispatcher = new KeyOrderedDispatcher(8, new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+		ReflectionTestUtils.setField(dispatcher, "retryBackoffMs", 1L);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		dispatcher.destroy();
+	}
+
+	@Test
+	void tasksOfOneKeyRunInSubmissionOrder() throws InterruptedException {
+		int count = 100;
+		List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(count);
+		for (int i = 0; i < count; i++) {
+			int task = i;
+			dispatcher.submit("order-1", "c-" + i, () -> {
+				// Earlier tasks take longer - without ordering, later ones would overtake them
+				sleep((count - task) % 3);
+				ran.add(task);
+			}, done::countDown, e -> {});
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(IntStream.range(0, count).boxed().toList(), ran);
+	}
+
+	@Test
+	void tasksOfDifferentKeysRunConcurrently() throws InterruptedException {
+		CountDownLatch bothRunning = new CountDownLatch(2);
+		CountDownLatch done = new CountDownLatch(2);
+		// Each task waits for the other to start - run one key after the other and neither finishes
+		Runnable task = () -> {
+			bothRunning.countDown();
+			try {
+				if (!bothRunning.await(5, TimeUnit.SECONDS)) {
+					throw new IllegalStateException("the other key never started");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+		dispatcher.submit("order-1", "c-1", task, done::countDown, e -> {});
+		dispatcher.submit("order-2", "c-2", task, done::countDown, e -> {});
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void failingTaskIsRetriedThenGivenUpWithoutAck() throws Exception {
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicInteger acks = new AtomicInteger();
+		CompletableFuture<RuntimeException> givenUp = new CompletableFuture<>();
+		dispatcher.submit("order-1", "c-1", () -> {
+			throw new IllegalStateException("attempt " + attempts.incrementAndGet());
+		}, acks::incrementAndGet, givenUp::complete);
+
+		// The key moves on to its next task after giving up
+		CountDownLatch next = new CountDownLatch(1);
+		dispatcher.submit("order-1", "c-2", () -> {}, next::countDown, e -> {});
+
+		RuntimeException failure = givenUp.get(10, TimeUnit.SECONDS);
+		assertTrue(next.await(10, TimeUnit.SECONDS));
+		assertEquals(MAX_ATTEMPTS, attempts.get());
+		assertEquals("attempt " + MAX_ATTEMPTS, failure.getMessage());
+		assertEquals(0, acks.get());
+	}
+
+	@Test
+	void taskThatRecoversIsAckedOnceAndNotGivenUp() throws InterruptedException {
+		AtomicInteger attempts = new AtomicInteger();
+		AtomicInteger acks = new AtomicInteger();
+		List<RuntimeException> givenUp = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch done = new CountDownLatch(1);
+		dispatcher.submit("order-1", "c-1", () -> {
+			if (attempts.incrementAndGet() < MAX_ATTEMPTS) {
+				throw new IllegalStateException("transient");
+			}
+		}, () -> {
+			acks.incrementAndGet();
+			done.countDown();
+		}, givenUp::add);
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(MAX_ATTEMPTS, attempts.get());
+		assertEquals(1, acks.get());
+		assertTrue(givenUp.isEmpty());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,162 @@
+package com.orderprocessing.paymentservice.journal;
+
+import com.orderprocessing.paymentservice.config.JournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentJournalTests {
+
+	// Four records per segment, so a handful of appends rolls
+	private static final DataSize SEGMENT_SIZE = DataSize.ofBytes(4 * JournalSegment.RECORD_SIZE);
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void tornSlotAndEverythingAfterItAreTruncatedOnReopen() throws IOException {
+		PaymentJournal journal = open(DataSize.ofMegabytes(1));
+		for (long orderId = 1; orderId <= 4; orderId++) {
+			append(journal, orderId);
+		}
+		journal.destroy();
+
+		// A crash mid-write: the third record's checksum never made it
+		Path segment = segmentFiles(".log").get(0);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(4), 2L * JournalSegment.RECORD_SIZE);
+		}
+
+		journal = open(DataSize.ofMegabytes(1));
+		assertEquals(1, journal.findByOrderId(2).size());
+		assertTrue(journal.findByOrderId(3).isEmpty());
+		assertTrue(journal.findByOrderId(4).isEmpty());
+		// The cut-off records were never acknowledged - their sequences are handed out again
+		assertEquals(3, append(journal, 5).sequence());
+		journal.destroy();
+
+		journal = open(DataSize.ofMegabytes(1));
+		assertTrue(journal.findByOrderId(4).isEmpty());
+		assertEquals(3, journal.findByOrderId(5).get(0).sequence());
+		assertEquals(4, append(journal, 6).sequence());
+		journal.destroy();
+	}
+
+	@Test
+	void missingIndexOfASealedSegmentIsRebuilt() throws IOException {
+		PaymentJournal journal = open(SEGMENT_SIZE);
+		for (long orderId = 1; orderId <= 6; orderId++) {
+			append(journal, orderId % 3);  // orders 0, 1 and 2, twice each
+		}
+		journal.destroy();
+
+		// A crash between sealing the first segment and writing its index
+		Path index = segmentFiles(".idx").get(0);
+		Files.delete(index);
+
+		journal = open(SEGMENT_SIZE);
+		assertTrue(Files.exists(index));
+		assertEquals(List.of(1L, 4L), sequences(journal.findByOrderId(1)));
+		assertEquals(List.of(2L, 5L), sequences(journal.findByOrderId(2)));
+		assertEquals(List.of(3L, 6L), sequences(journal.findByOrderId(0)));
+		journal.destroy();
+	}
+
+	@Test
+	void concurrentAppendsAcrossRollsAreAllDurable() throws Exception {
+		int threads = 8;
+		int perThread = 50;
+		PaymentJournal journal = open(SEGMENT_SIZE);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<List<JournalRecord>>> results = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			long firstOrder = (long) t * perThread;
+			results.add(executor.submit(() -> {
+				List<JournalRecord> appended = new ArrayList<>();
+				for (long orderId = firstOrder; orderId < firstOrder + perThread; orderId++) {
+					appended.add(append(journal, orderId));
+				}
+				return appended;
+			}));
+		}
+		TreeSet<Long> sequences = new TreeSet<>();
+		for (Future<List<JournalRecord>> result : results) {
+			// A caller whose record was forced by a roll rather than a group fsync must still return
+			for (JournalRecord record : result.get(30, TimeUnit.SECONDS)) {
+				sequences.add(record.sequence());
+			}
+		}
+		executor.shutdown();
+		journal.destroy();
+
+		int total = threads * perThread;
+		assertEquals(total, sequences.size());
+		assertEquals(1L, sequences.first());
+		assertEquals((long) total, sequences.last());
+		assertEquals(total / 4, segmentFiles(".log").size());
+
+		PaymentJournal reopened = open(SEGMENT_SIZE);
+		for (long orderId = 0; orderId < total; orderId++) {
+			assertEquals(1, reopened.findByOrderId(orderId).size(), "order " + orderId);
+		}
+		assertEquals(total + 1, append(reopened, total).sequence());
+		reopened.destroy();
+	}
+
+	@Test
+	void chargeIsFoundByTheEventThatMadeIt() throws IOException {
+		PaymentJournal journal = open(DataSize.ofMegabytes(1));
+		String first = UUID.randomUUID().toString();
+		journal.append(7, first, BigDecimal.valueOf(100), JournalRecord.Outcome.DECLINED);
+		journal.append(7, "not-a-uuid", BigDecimal.valueOf(100), JournalRecord.Outcome.CHARGED);
+
+		assertEquals(JournalRecord.Outcome.DECLINED, journal.findByEvent(7, first).orElseThrow().outcome());
+		assertEquals(JournalRecord.Outcome.CHARGED, journal.findByEvent(7, "not-a-uuid").orElseThrow().outcome());
+		assertTrue(journal.findByEvent(7, UUID.randomUUID().toString()).isEmpty());
+		assertTrue(journal.findByEvent(8, first).isEmpty());
+		journal.destroy();
+	}
+
+	private PaymentJournal open(DataSize segmentSize) throws IOException {
+		JournalProperties properties = new JournalProperties();
+		properties.setDirectory(directory.toString());
+		properties.setSegmentSize(segmentSize);
+		return new PaymentJournal(properties, new SimpleMeterRegistry());
+	}
+
+	private static JournalRecord append(PaymentJournal journal, long orderId) {
+		return journal.append(orderId, UUID.randomUUID().toString(), BigDecimal.valueOf(100), JournalRecord.Outcome.CHARGED);
+	}
+
+	private List<Path> segmentFiles(String extension) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.getFileName().toString().endsWith(extension)).sorted().toList();
+		}
+	}
+
+	private static List<Long> sequences(List<JournalRecord> records) {
+		return records.stream().map(JournalRecord::sequence).toList();
+	}
+}